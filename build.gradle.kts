@@ -1,7 +1,17 @@
 
+import io.github.classgraph.ClassGraph
 import org.jetbrains.kotlin.gradle.plugin.KotlinSourceSet
 import org.jetbrains.kotlin.gradle.tasks.KotlinCompile
 
+buildscript {
+    repositories {
+        jcenter()
+    }
+    dependencies {
+        classpath("io.github.classgraph:classgraph:4.8.59")
+    }
+}
+
 plugins {
     val kotlinVersion = "1.3.60"
     val jfxVersion = "0.0.8"
@@ -37,6 +47,7 @@ dependencies {
     implementation("org.openjfx:javafx-fxml:11.0.1")
     implementation("org.openjfx:javafx-swing:11.0.1")
     implementation("com.zaxxer:HikariCP:3.4.5")
+    implementation("com.h2database:h2:1.4.200")
     implementation("org.mockito:mockito-core:2.24.5")
     testImplementation("org.junit.jupiter:junit-jupiter-api:$junitVersion")
     testImplementation("org.junit.jupiter:junit-jupiter-params:$junitVersion")
@@ -80,3 +91,43 @@ tasks.withType<KotlinCompile>().all {
 tasks.named<Test>("test") {
     useJUnitPlatform()
 }
+
+val pluginIndexDir = file("$buildDir/generated/pluginIndex")
+
+val generatePluginIndex = tasks.register("generatePluginIndex") {
+    description = "Writes the class names of all compiled plugin scripts to an index read at startup."
+    val compileKotlin = tasks.named<KotlinCompile>("compileKotlin")
+    dependsOn(compileKotlin)
+    inputs.files(compileKotlin)
+    outputs.dir(pluginIndexDir)
+    doLast {
+        val scripts = ClassGraph()
+            .overrideClasspath(compileKotlin.get().destinationDir)
+            .enableClassInfo()
+            .scan()
+            .use { it.getSubclasses("kotlin.script.templates.standard.ScriptTemplateWithArgs").names.sorted() }
+        val index = File(pluginIndexDir, "META-INF/luna/plugins.idx")
+        index.parentFile.mkdirs()
+        index.writeText(scripts.joinToString(separator = "\n", postfix = "\n"))
+    }
+}
+
+sourceSets["main"].output.dir(mapOf("builtBy" to generatePluginIndex), pluginIndexDir)
+
+tasks.register<JavaExec>("migrateJsonPlayers") {
+    description = "Copies all JSON player saves into the embedded player database."
+    classpath = sourceSets["main"].runtimeClasspath
+    main = "io.luna.game.model.mob.persistence.EmbeddedPlayerMigration"
+}
+
+tasks.register<JavaExec>("benchmarkBank") {
+    description = "Measures deposit, withdraw and refill operations on a full bank."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "io.luna.game.model.item.BankBenchmark"
+}
+
+tasks.register<JavaExec>("benchmarkItemAllocation") {
+    description = "Measures the memory allocated by items during a skilling loop."
+    classpath = sourceSets["test"].runtimeClasspath
+    main = "io.luna.game.model.item.ItemAllocationBenchmark"
+}
@@ -0,0 +1,18 @@
+package api.event
+
+import api.predef.*
+import io.luna.game.event.Event
+
+/**
+ * The receiver of listeners added with [onAsync]. Listeners run on the I/O pool, so game state must only be touched
+ * from within [sync].
+ *
+ * @author lare96
+ */
+class AsyncEventScope<E : Event>(val msg: E) {
+
+    /**
+     * Runs [action] on the game thread at the start of the next tick.
+     */
+    fun sync(action: E.() -> Unit) = game.sync { action(msg) }
+}
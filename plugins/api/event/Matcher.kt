@@ -5,6 +5,7 @@ import com.google.common.collect.ArrayListMultimap
 import io.luna.game.event.Event
 import io.luna.game.event.EventMatcher
 import io.luna.game.event.EventMatcherListener
+import io.luna.game.event.IntKeyEventMatcher
 import io.luna.game.event.impl.ButtonClickEvent
 import io.luna.game.event.impl.CommandEvent
 import io.luna.game.event.impl.ItemClickEvent
@@ -16,6 +17,10 @@ import io.luna.game.event.impl.NpcClickEvent.*
 import io.luna.game.event.impl.ObjectClickEvent
 import io.luna.game.event.impl.ObjectClickEvent.*
 import io.luna.game.event.impl.ServerLaunchEvent
+import io.luna.game.plugin.RuntimeScript
+import java.util.function.Consumer
+import java.util.function.Predicate
+import java.util.function.ToIntFunction
 import kotlin.reflect.KClass
 
 /**
@@ -85,6 +90,9 @@ abstract class Matcher<E : Event, K>(private val eventType: KClass<E>) {
             // Add all of the matcher's listeners.
             ALL.values.forEach { it.addListener() }
 
+            // Remove the actions of scripts that are being reloaded.
+            scriptUnloadHooks += Consumer { script -> ALL.values.forEach { it.removeAll(script) } }
+
             // Small optimization, put all keys with only one listener into a different map.
             on(ServerLaunchEvent::class) {
                 var singularCount = 0
@@ -132,17 +140,47 @@ abstract class Matcher<E : Event, K>(private val eventType: KClass<E>) {
      */
     operator fun set(key: K, value: E.() -> Unit) {
         val matcherListener = EventMatcherListener(value)
+
+        // Demote an optimized listener (from a reload), so it isn't matched instead of the new one.
+        actions.remove(key)?.let { multiActions.put(key, it) }
         multiActions.put(key, matcherListener)
         scriptMatchers += matcherListener
+        onSet(key, matcherListener)
+    }
+
+    /**
+     * Removes all actions added by [script].
+     */
+    private fun removeAll(script: RuntimeScript) {
+        actions.values.removeIf { it.script === script }
+        multiActions.values().removeIf { it.script === script }
+        onRemoveAll(script)
+    }
+
+    /**
+     * Invoked when all actions added by [script] are removed.
+     */
+    protected open fun onRemoveAll(script: RuntimeScript) {
+    }
+
+    /**
+     * Invoked when [listener] is added for [key].
+     */
+    protected open fun onSet(key: K, listener: EventMatcherListener<E>) {
     }
 
+    /**
+     * Creates the [EventMatcher] that will be set on the backing pipeline.
+     */
+    protected open fun createEventMatcher(): EventMatcher<E> = EventMatcher(Predicate(this::match))
+
     /**
      * Adds an event listener for this matcher to the backing pipeline set.
      */
     private fun addListener() {
         val type = eventType.java
         val pipeline = pipelines.get(type)
-        pipeline.setMatcher(EventMatcher<E>(this::match))
+        pipeline.setMatcher(createEventMatcher())
     }
 
     /**
@@ -183,32 +221,57 @@ abstract class Matcher<E : Event, K>(private val eventType: KClass<E>) {
         return actions.size to multiActions.size()
     }
 
+    /**
+     * A base [Matcher] for events keyed by an [Int] identifier. Events are matched by an [IntKeyEventMatcher], so
+     * the key is never boxed.
+     */
+    abstract class IntMatcher<E : Event>(matchClass: KClass<E>) : Matcher<E, Int>(matchClass) {
+
+        /**
+         * The Java matcher that events are dispatched through.
+         */
+        private val intMatcher = IntKeyEventMatcher<E>(ToIntFunction(this::id))
+
+        /**
+         * Computes a primitive lookup key from the event instance.
+         */
+        abstract fun id(msg: E): Int
+
+        final override fun key(msg: E) = id(msg)
+
+        override fun onSet(key: Int, listener: EventMatcherListener<E>) = intMatcher.add(key, listener)
+
+        override fun onRemoveAll(script: RuntimeScript) = intMatcher.removeIf { it.script === script }
+
+        override fun createEventMatcher(): EventMatcher<E> = intMatcher
+    }
+
     /**
      * A base [Matcher] for [NpcClickEvent]s.
      */
-    class NpcMatcher<E : NpcClickEvent>(matchClass: KClass<E>) : Matcher<E, Int>(matchClass) {
-        override fun key(msg: E) = msg.npc.id
+    class NpcMatcher<E : NpcClickEvent>(matchClass: KClass<E>) : IntMatcher<E>(matchClass) {
+        override fun id(msg: E) = msg.npc.id
     }
 
     /**
      * A base [Matcher] for [ItemClickEvent]s.
      */
-    class ItemMatcher<E : ItemClickEvent>(matchClass: KClass<E>) : Matcher<E, Int>(matchClass) {
-        override fun key(msg: E) = msg.id
+    class ItemMatcher<E : ItemClickEvent>(matchClass: KClass<E>) : IntMatcher<E>(matchClass) {
+        override fun id(msg: E) = msg.id
     }
 
     /**
      * A base [Matcher] for [ObjectClickEvent]s.
      */
-    class ObjectMatcher<E : ObjectClickEvent>(matchClass: KClass<E>) : Matcher<E, Int>(matchClass) {
-        override fun key(msg: E) = msg.id
+    class ObjectMatcher<E : ObjectClickEvent>(matchClass: KClass<E>) : IntMatcher<E>(matchClass) {
+        override fun id(msg: E) = msg.id
     }
 
     /**
      * A singleton [Matcher] instance for [ButtonClickEvent]s.
      */
-    object ButtonMatcher : Matcher<ButtonClickEvent, Int>(ButtonClickEvent::class) {
-        override fun key(msg: ButtonClickEvent) = msg.id
+    object ButtonMatcher : IntMatcher<ButtonClickEvent>(ButtonClickEvent::class) {
+        override fun id(msg: ButtonClickEvent) = msg.id
     }
 
     /**
@@ -1,5 +1,6 @@
 package api.predef
 
+import api.event.AsyncEventScope
 import api.event.InterceptBy
 import api.event.InterceptUseItem
 import api.event.Matcher
@@ -13,7 +14,9 @@ import io.luna.game.event.impl.ItemOnObjectEvent
 import io.luna.game.event.impl.NpcClickEvent.*
 import io.luna.game.event.impl.ObjectClickEvent.*
 import io.luna.game.model.mob.PlayerRights
+import org.apache.logging.log4j.message.ParameterizedMessage
 import java.util.*
+import java.util.concurrent.Callable
 import kotlin.reflect.KClass
 
 /**
@@ -45,6 +48,24 @@ fun <E : Event> on(eventClass: KClass<E>, action: EventAction<E>) {
     scriptListeners += EventListener(eventClass.java, action)
 }
 
+/**
+ * The asynchronous event interception function. Runs the action on the I/O pool instead of the game thread, so it can
+ * perform blocking work such as file or database writes. Game state must only be modified from within
+ * [AsyncEventScope.sync].
+ */
+fun <E : Event> onAsync(eventClass: KClass<E>, action: AsyncEventScope<E>.() -> Unit) {
+    on(eventClass) {
+        val future = game.submitIo(Callable { action(AsyncEventScope(this)) })
+        future.addListener(Runnable {
+            try {
+                future.get()
+            } catch (e: Exception) {
+                logger.error(ParameterizedMessage("Asynchronous {} listener failed.", eventClass.simpleName), e)
+            }
+        }, game.executor)
+    }
+}
+
 /**
  * The [ItemOnItemEvent] and [ItemOnObjectEvent] matcher function. Forwards to [InterceptUseItem].
  */
@@ -11,6 +11,7 @@ import io.luna.game.model.mob.PlayerRights
 import io.luna.game.model.mob.Skill
 import io.luna.game.plugin.KotlinBindings
 import io.luna.game.plugin.PluginBootstrap
+import io.luna.game.plugin.RuntimeScript
 import io.luna.util.Rational
 import io.luna.util.ReflectionUtils
 
@@ -42,6 +43,11 @@ val scriptListeners: MutableList<EventListener<*>> = bindings.listeners!!
  */
 val scriptMatchers: MutableList<EventMatcherListener<*>> = bindings.matchers!!
 
+/**
+ * Functions invoked when a script is unloaded.
+ */
+val scriptUnloadHooks: MutableList<java.util.function.Consumer<RuntimeScript>> = bindings.unloadHooks!!
+
 /**
  * The [EventListenerPipelineSet] instance.
  */
@@ -63,7 +63,7 @@ object PunishmentHandler {
             target.logout()
 
             // Add target to local file database.
-            return game.submit {
+            return game.submitIo {
                 try {
                     Files.writeString(IP_BANS,
                                 (target.currentIp + '\n'),
@@ -74,6 +74,7 @@ object PunishmentHandler {
                     fileLogger.error("Could not write IP ban entry to file.")
                     throw e
                 }
+                null
             }
         }
         return Futures.immediateFailedFuture(IllegalStateException("This player has already been IP banned."))
@@ -5,6 +5,7 @@ import io.luna.game.model.mob.Animation
 import io.luna.game.model.mob.Graphic
 import io.luna.game.model.mob.Npc
 import io.luna.game.model.mob.inter.StandardInterface
+import io.luna.game.plugin.ScriptProfiler
 import io.luna.net.msg.out.ConfigMessageWriter
 import io.luna.net.msg.out.MusicMessageWriter
 import io.luna.net.msg.out.SoundMessageWriter
@@ -80,3 +81,43 @@ cmd("animation", RIGHTS_DEV) {
     val id = asInt(0)
     plr.animation(Animation(id))
 }
+
+/**
+ * A command that displays the latency of each login stage.
+ */
+cmd("loginstats", RIGHTS_DEV) {
+    val service = world.loginService
+    plr.sendMessage("Logins waiting for admission: ${service.pendingCount}")
+    service.latencies.forEach { plr.sendMessage(it.toString()) }
+}
+
+/**
+ * A command that controls plugin listener profiling. Use "on" or "off" to toggle profiling, "reset" to clear
+ * recorded timings, or no arguments to display the slowest listeners.
+ */
+cmd("profile", RIGHTS_DEV) {
+    when (if (args.isEmpty()) "" else args[0]) {
+        "on" -> ScriptProfiler.setEnabled(true)
+        "off" -> ScriptProfiler.setEnabled(false)
+        "reset" -> ScriptProfiler.reset()
+        else -> ScriptProfiler.report().forEach { plr.sendMessage(it.toString()) }
+    }
+    plr.sendMessage("Plugin profiling is ${if (ScriptProfiler.isEnabled()) "enabled" else "disabled"}.")
+}
+
+/**
+ * A command that reloads every plugin script that was recompiled since it was loaded.
+ */
+cmd("reload", RIGHTS_DEV) {
+    val future = plugins.reloadChanged()
+    future.addListener(Runnable {
+        try {
+            val reloaded = future.get()
+            plr.sendMessage("Reloaded ${reloaded.size} script(s).")
+            reloaded.forEach { plr.sendMessage(it) }
+        } catch (e: Exception) {
+            plr.sendMessage("Reload failed, see the console for details.")
+            logger.catching(e)
+        }
+    }, game.executor)
+}
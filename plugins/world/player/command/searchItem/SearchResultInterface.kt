@@ -6,7 +6,6 @@ import io.luna.game.model.mob.Player
 import io.luna.game.model.mob.inter.StandardInterface
 import io.luna.net.msg.out.WidgetItemsMessageWriter
 import io.luna.net.msg.out.WidgetTextMessageWriter
-import kotlin.streams.toList
 
 /**
  * A standard interface representing the result of a search.
@@ -21,12 +20,10 @@ class SearchResultInterface(private val searchToken: String) : StandardInterface
 
     override fun onOpen(plr: Player) {
 
-        // Perform search here, filter items based on search token.
-        val itemsFound = ItemDefinition.ALL
-            .stream()
-            .filter { it.id > 0 && !it.isNoted && it.name.toLowerCase().contains(searchToken) }
+        // Perform search here, best matches first.
+        val itemsFound = ItemDefinition.NAMES.search(searchToken, Int.MAX_VALUE)
+            .filter { it.id > 0 && !it.isNoted }
             .map { Item(it.id, 1) }
-            .toList()
 
         // Display the items, truncating results if necessary.
         fun display(items: List<Item>) =
@@ -8,6 +8,7 @@ import io.luna.game.model.item.RefreshListener
 import io.luna.game.model.mob.Player
 import io.luna.game.model.mob.inter.AbstractInterface
 import io.luna.game.model.mob.inter.InventoryOverlayInterface
+import io.luna.net.msg.GameMessageWriter
 import io.luna.net.msg.out.WidgetIndexedItemsMessageWriter
 import io.luna.net.msg.out.WidgetItemsMessageWriter
 
@@ -19,10 +20,9 @@ class OfferTradeInterface(val other: Player) : InventoryOverlayInterface(3323, 3
     /**
      * A [RefreshListener] that listens for items on the offer screen.
      */
-    inner class OfferListener(private val plr: Player) : RefreshListener() {
+    inner class OfferListener(private val plr: Player) : RefreshListener(plr.world) {
 
-        override fun displayUpdate(items: ItemContainer, updateItems: List<IndexedItem>,
-                                   msg: WidgetIndexedItemsMessageWriter) {
+        override fun displayUpdate(items: ItemContainer, updateItems: List<IndexedItem>, msg: GameMessageWriter) {
 
             plr.queue(msg) // Send to left panel.
             other.queue(WidgetIndexedItemsMessageWriter(3416, updateItems)) // Send to right panel.
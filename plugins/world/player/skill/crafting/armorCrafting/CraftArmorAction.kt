@@ -63,7 +63,7 @@ class CraftArmorAction(private val plr: Player,
         return if (mob.threadLeft <= 0) {
             // We have no thread left, remove one from inventory and reset counter.
             mob.threadLeft = rand(4) + 1
-            listOf(rem, Item(THREAD_ID))
+            listOf(rem, Item.of(THREAD_ID))
         } else {
             // Decrement thread counter.
             mob.threadLeft--
@@ -16,7 +16,7 @@ enum class Fish(val id: Int,
         override fun toItem(action: FishAction): Item? {
             val level = action.mob.fishing.level / 5
             val extraCount = Math.floor(level.toDouble())
-            return Item(id, (1 + extraCount).toInt())
+            return Item.of(id, (1 + extraCount).toInt())
         }
     },
     SHRIMP(id = 317,
@@ -85,7 +85,7 @@ enum class Fish(val id: Int,
                 action.messages += "A Karambwan deftly snatches the Karambwanji from your vessel!"
                 null
             } else {
-                Item(id, 1)
+                Item.of(id)
             }
         }
     },
@@ -106,5 +106,5 @@ enum class Fish(val id: Int,
     /**
      * Retrieves the item instance from this fish.
      */
-    open fun toItem(action: FishAction): Item? = Item(id)
+    open fun toItem(action: FishAction): Item? = Item.of(id)
 }
\ No newline at end of file
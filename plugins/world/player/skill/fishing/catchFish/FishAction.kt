@@ -99,7 +99,7 @@ class FishAction(private val msg: NpcClickEvent,
 
     override fun remove() =
         if (tool.bait != null)
-            listOf(Item(tool.bait)) else emptyList()
+            listOf(Item.of(tool.bait)) else emptyList()
 
     override fun stop() = mob.animation(Animation.CANCEL)
 
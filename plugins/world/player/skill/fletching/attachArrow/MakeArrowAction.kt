@@ -20,8 +20,8 @@ class MakeArrowAction(plr: Player,
 
     override fun add() = listOf(Item(arrow.id, setAmount))
     override fun remove(): List<Item> {
-        val tipItem = Item(arrow.tip, setAmount)
-        val withItem = Item(arrow.with, setAmount)
+        val tipItem = Item.of(arrow.tip, setAmount)
+        val withItem = Item.of(arrow.with, setAmount)
         return listOf(tipItem, withItem)
     }
 
@@ -28,8 +28,8 @@ class CutLogAction(plr: Player,
     override fun add(): List<Item> {
         val unstrungItem =
             when (bow) {
-                Bow.ARROW_SHAFT -> Item(bow.unstrung, Arrow.SET_AMOUNT)
-                else -> Item(bow.unstrung)
+                Bow.ARROW_SHAFT -> Item.of(bow.unstrung, Arrow.SET_AMOUNT)
+                else -> Item.of(bow.unstrung)
             }
         return listOf(unstrungItem)
     }
@@ -153,6 +153,6 @@ class MineOreAction(plr: Player, val pick: Pickaxe, val ore: Ore, val rockObj: G
             foundGem = GEMS.first()
         }
         mob.sendMessage("You find a gem in the rock.")
-        mob.inventory.add(Item(foundGem.uncut))
+        mob.inventory.add(Item.of(foundGem.uncut))
     }
 }
\ No newline at end of file
@@ -56,8 +56,8 @@ fun craft(plr: Player, rune: Rune) {
     // Now we can craft runes!
     val craftAmt = essenceAmt * (plr.runecrafting.level / rune.multiplier)
 
-    inv.remove(Item(essenceId, essenceAmt))
-    inv.add(Item(rune.id, craftAmt))
+    inv.remove(Item.of(essenceId, essenceAmt))
+    inv.add(Item.of(rune.id, craftAmt))
 
     plr.sendMessage("You bind the temple's power into ${itemDef(rune.id).name}s.")
 
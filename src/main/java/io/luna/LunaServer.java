@@ -3,12 +3,19 @@ package io.luna;
 import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.Service;
 import com.google.common.util.concurrent.ServiceManager;
+import io.luna.game.model.def.EquipmentDefinition;
+import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.NpcCombatDefinition;
+import io.luna.game.model.def.NpcDefinition;
+import io.luna.game.model.def.ObjectDefinition;
 import io.luna.game.plugin.PluginBootstrap;
+import io.luna.game.plugin.ScriptProfiler;
 import io.luna.net.LunaChannelFilter;
 import io.luna.net.LunaChannelInitializer;
 import io.luna.net.msg.GameMessageRepository;
 import io.luna.util.AsyncExecutor;
 import io.luna.util.ThreadUtils;
+import io.luna.util.parser.DefinitionPackLoader;
 import io.luna.util.parser.impl.BlacklistFileParser;
 import io.luna.util.parser.impl.EquipmentDefinitionFileParser;
 import io.luna.util.parser.impl.ItemDefinitionFileParser;
@@ -116,6 +123,7 @@ public final class LunaServer {
      * @throws ReflectiveOperationException If an error occurs while instancing plugins.
      */
     private void initPlugins() throws ReflectiveOperationException {
+        ScriptProfiler.setEnabled(Luna.settings().scriptProfiling());
         PluginBootstrap bootstrap = new PluginBootstrap(context);
         logger.info("{} Kotlin plugins have been loaded.", bootstrap.start());
     }
@@ -126,21 +134,33 @@ public final class LunaServer {
     private void initLaunchTasks() {
         AsyncExecutor executor = new AsyncExecutor(ThreadUtils.cpuCount(), "BackgroundLoaderThread");
         executor.execute(new MessageRepositoryFileParser(messageRepository));
-        executor.execute(new EquipmentDefinitionFileParser());
-        executor.execute(new ItemDefinitionFileParser());
-        executor.execute(new NpcCombatDefinitionFileParser());
-        executor.execute(new NpcDefinitionFileParser());
-        executor.execute(new ObjectDefinitionFileParser());
+        executor.execute(new DefinitionPackLoader<>(new EquipmentDefinitionFileParser(), EquipmentDefinition.ALL,
+                EquipmentDefinition.CODEC));
+        executor.execute(new DefinitionPackLoader<>(new ItemDefinitionFileParser(), ItemDefinition.ALL,
+                ItemDefinition.CODEC));
+        executor.execute(new DefinitionPackLoader<>(new NpcCombatDefinitionFileParser(), NpcCombatDefinition.ALL,
+                NpcCombatDefinition.CODEC));
+        executor.execute(new DefinitionPackLoader<>(new NpcDefinitionFileParser(), NpcDefinition.ALL,
+                NpcDefinition.CODEC));
+        executor.execute(new DefinitionPackLoader<>(new ObjectDefinitionFileParser(), ObjectDefinition.ALL,
+                ObjectDefinition.CODEC));
         executor.execute(new BlacklistFileParser(channelFilter));
 
         try {
             int count = executor.size();
             if (count > 0) {
                 logger.info("Waiting for {} launch task(s) to complete...", box(count));
+                Stopwatch timer = Stopwatch.createStarted();
                 executor.await(true);
+                logger.info("Launch tasks completed in {}ms.", box(timer.elapsed(TimeUnit.MILLISECONDS)));
             }
         } catch (ExecutionException e) {
             throw new CompletionException(e.getCause());
         }
+
+        // Build name indexes now that definitions are loaded, rather than during the first search.
+        ItemDefinition.NAMES.build();
+        NpcDefinition.NAMES.build();
+        ObjectDefinition.NAMES.build();
     }
 }
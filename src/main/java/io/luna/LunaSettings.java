@@ -18,6 +18,9 @@ public final class LunaSettings {
     private boolean pluginGui;
     private String serializer;
     private int passwordStrength;
+    private int loginAdmissionRate;
+    private int loginQueueCapacity;
+    private boolean scriptProfiling;
 
     /**
      * The port that the server will be bound on.
@@ -73,6 +76,32 @@ public final class LunaSettings {
         return passwordStrength;
     }
 
+    /**
+     * The maximum amount of players that will be added to the world per tick, once their login requests have been
+     * verified. Remaining players wait in a queue. Lower values make reconnect storms gentler on the game thread. If
+     * this isn't set, {@code 50} players are admitted per tick.
+     */
+    public int loginAdmissionRate() {
+        return loginAdmissionRate;
+    }
+
+    /**
+     * The maximum amount of verified players that can wait in the login queue. Players that arrive when the queue is
+     * full are told how long to wait, and their clients retry automatically. If this isn't set, the capacity is
+     * {@code 1000}.
+     */
+    public int loginQueueCapacity() {
+        return loginQueueCapacity;
+    }
+
+    /**
+     * If plugin listeners should be profiled from startup. Reports of the slowest listeners are logged periodically
+     * while enabled. Can also be toggled in-game using the {@code ::profile} command.
+     */
+    public boolean scriptProfiling() {
+        return scriptProfiling;
+    }
+
     /**
      * Determines if luna is running in Beta mode.
      */
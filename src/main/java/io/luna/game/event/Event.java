@@ -8,23 +8,4 @@ package io.luna.game.event;
  */
 public class Event {
 
-    /**
-     * The pipeline this event is passing through. Might be {@code null}.
-     */
-    private EventListenerPipeline pipeline;
-
-    /**
-     * Returns the pipeline instance.
-     */
-    public EventListenerPipeline getPipeline() {
-        return pipeline;
-    }
-
-    /**
-     * Sets a new pipeline instance.
-     */
-    protected void setPipeline(EventListenerPipeline pipeline) {
-        // The only time an event should be mutable is when changing the pipeline.
-        this.pipeline = pipeline;
-    }
 }
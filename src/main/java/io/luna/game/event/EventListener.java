@@ -3,6 +3,8 @@ package io.luna.game.event;
 import com.google.common.base.MoreObjects;
 import io.luna.game.plugin.RuntimeScript;
 import io.luna.game.plugin.ScriptExecutionException;
+import io.luna.game.plugin.ScriptProfiler;
+import io.luna.game.plugin.ScriptProfiler.Timing;
 import io.luna.util.ReflectionUtils;
 
 import java.util.function.Consumer;
@@ -32,6 +34,11 @@ public final class EventListener<E extends Event> {
      */
     private final Consumer<E> listener;
 
+    /**
+     * The profiler timing for this listener. Created the first time this listener runs while profiling is enabled.
+     */
+    private Timing timing;
+
     /**
      * Creates a new {@link EventListener}.
      *
@@ -58,10 +65,19 @@ public final class EventListener<E extends Event> {
      * @param msg The event to apply the function with.
      */
     public void apply(E msg) {
+        boolean profiling = ScriptProfiler.isEnabled();
+        long start = profiling ? System.nanoTime() : 0L;
         try {
             listener.accept(msg);
         } catch (Exception failure) {
             throw new ScriptExecutionException(script, failure);
+        } finally {
+            if (profiling) {
+                if (timing == null) {
+                    timing = ScriptProfiler.timing(script, eventType);
+                }
+                timing.recordSince(start);
+            }
         }
     }
 
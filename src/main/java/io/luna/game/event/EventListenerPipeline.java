@@ -6,8 +6,8 @@ import io.luna.game.plugin.ScriptExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.function.Predicate;
 
 /**
  * A pipeline-like model of listeners contained within a pipeline set. It allows for the traversal of events through
@@ -29,15 +29,22 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
     private final Class<E> eventType;
 
     /**
-     * The pipeline of listeners.
+     * The pipeline of listeners. Listeners are only added while plugins are loading, so the array is copied on every
+     * addition rather than being iterated as a list on every post.
      */
-    private final List<EventListener<E>> listeners = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private EventListener<E>[] listeners = new EventListener[0];
 
     /**
      * The Kotlin match listener. Serves as an optimization for key-based events.
      */
     private EventMatcher<E> matcher;
 
+    /**
+     * If a match listener has been set.
+     */
+    private boolean hasMatcher;
+
     /**
      * Creates a new {@link EventListenerPipeline}.
      *
@@ -50,7 +57,7 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
 
     @Override
     public UnmodifiableIterator<EventListener<E>> iterator() {
-        return Iterators.unmodifiableIterator(listeners.iterator());
+        return Iterators.forArray(listeners);
     }
 
     /**
@@ -60,10 +67,8 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
      */
     public void post(E msg) {
         try {
-            msg.setPipeline(this);
-
             // Attempt to match the event to a listener.
-            if (!matcher.match(msg)) {
+            if (!hasMatcher || !matcher.match(msg)) {
 
                 // Event was not matched, post to other listeners.
                 for (EventListener<E> listener : listeners) {
@@ -72,8 +77,6 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
             }
         } catch (ScriptExecutionException e) {
             handleException(e);
-        } finally {
-            msg.setPipeline(null);
         }
     }
 
@@ -85,7 +88,7 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
     private void handleException(ScriptExecutionException e) {
         var script = e.getScript();
         if (script != null) {
-            logger.warn("Failed to run a listener from script '" + script.getInfo().getName()+ "'", e);
+            logger.warn("Failed to run a listener from script '" + script.getName() + "'", e);
         } else {
             logger.catching(e);
         }
@@ -97,7 +100,21 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
      * @param listener The listener.
      */
     public void add(EventListener<E> listener) {
-        listeners.add(listener);
+        int index = listeners.length;
+        listeners = Arrays.copyOf(listeners, index + 1);
+        listeners[index] = listener;
+    }
+
+    /**
+     * Removes all listeners that satisfy {@code filter}. Usually invoked while reloading plugins.
+     *
+     * @param filter The filter.
+     * @return The amount of listeners removed.
+     */
+    public int removeIf(Predicate<EventListener<E>> filter) {
+        int oldSize = listeners.length;
+        listeners = Arrays.stream(listeners).filter(filter.negate()).toArray(size -> Arrays.copyOf(listeners, size));
+        return oldSize - listeners.length;
     }
 
     /**
@@ -107,6 +124,7 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
      */
     public void setMatcher(EventMatcher<E> newMatcher) {
         matcher = newMatcher;
+        hasMatcher = true;
     }
 
     /**
@@ -115,7 +133,16 @@ public final class EventListenerPipeline<E extends Event> implements Iterable<Ev
      * @return The pipeline's size.
      */
     public int size() {
-        return listeners.size();
+        return listeners.length;
+    }
+
+    /**
+     * Determines if this pipeline has no listeners and no match listener, meaning posting to it would do nothing.
+     *
+     * @return {@code true} if this pipeline is empty.
+     */
+    public boolean isEmpty() {
+        return listeners.length == 0 && !hasMatcher;
     }
 
     /**
@@ -1,14 +1,17 @@
 package io.luna.game.event;
 
-import com.google.common.collect.Iterators;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.UnmodifiableIterator;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * A set of pipelines mapped to their respective event traversal types.
+ * <p>
+ * Pipelines are resolved through an immutable dispatch table keyed by the exact event class. The table is rebuilt
+ * whenever a pipeline is created or the set is replaced, which only happens while plugins are loading, so posting an
+ * event never allocates or hashes strings.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -17,7 +20,12 @@ public final class EventListenerPipelineSet implements Iterable<EventListenerPip
     /**
      * The map of pipelines.
      */
-    private final Map<String, EventListenerPipeline<?>> pipelines = new HashMap<>();
+    private final Map<Class<?>, EventListenerPipeline<?>> pipelines = new HashMap<>();
+
+    /**
+     * An immutable snapshot of {@link #pipelines}, used to resolve pipelines when events are posted.
+     */
+    private volatile ImmutableMap<Class<?>, EventListenerPipeline<?>> dispatchTable = ImmutableMap.of();
 
     /**
      * Adds a new event listener to a pipeline within this set.
@@ -33,19 +41,34 @@ public final class EventListenerPipelineSet implements Iterable<EventListenerPip
     }
 
     /**
-     * Retrieves a pipeline from this set.
+     * Retrieves a pipeline from this set, creating it if it doesn't exist.
      *
      * @param eventType The event class to retrieve the pipeline of.
      * @return The pipeline that accepts {@code eventType}.
      */
     @SuppressWarnings("unchecked")
     public <E extends Event> EventListenerPipeline<E> get(Class<E> eventType) {
-        EventListenerPipeline<?> pipeline = pipelines.computeIfAbsent(eventType.getSimpleName(),
-                key -> new EventListenerPipeline<>(eventType));
+        EventListenerPipeline<?> pipeline = pipelines.get(eventType);
+        if (pipeline == null) {
+            pipeline = new EventListenerPipeline<>(eventType);
+            pipelines.put(eventType, pipeline);
+            rebuildDispatchTable();
+        }
         //noinspection unchecked
         return (EventListenerPipeline<E>) pipeline;
     }
 
+    /**
+     * Resolves the pipeline for {@code eventType} from the dispatch table. Unlike {@link #get(Class)}, this never
+     * creates a pipeline.
+     *
+     * @param eventType The exact event class.
+     * @return The pipeline, or {@code null} if no listeners were ever registered for {@code eventType}.
+     */
+    public EventListenerPipeline<?> lookup(Class<?> eventType) {
+        return dispatchTable.get(eventType);
+    }
+
     /**
      * Replaces all of the pipelines the backing map with {@code set}. Used for reloading plugins.
      *
@@ -54,12 +77,19 @@ public final class EventListenerPipelineSet implements Iterable<EventListenerPip
     public void replaceAll(EventListenerPipelineSet set) {
         pipelines.clear();
         pipelines.putAll(set.pipelines);
+        rebuildDispatchTable();
+    }
+
+    /**
+     * Rebuilds the dispatch table from the backing map.
+     */
+    private void rebuildDispatchTable() {
+        dispatchTable = ImmutableMap.copyOf(pipelines);
     }
 
     @Override
     public UnmodifiableIterator<EventListenerPipeline<?>> iterator() {
-        Collection<EventListenerPipeline<?>> values = pipelines.values();
-        return Iterators.unmodifiableIterator(values.iterator());
+        return dispatchTable.values().iterator();
     }
 
     /**
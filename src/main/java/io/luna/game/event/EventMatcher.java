@@ -1,13 +1,13 @@
 package io.luna.game.event;
 
-import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * A model that matches an event to an event listener. Implemented by Kotlin matchers.
  *
  * @author lare96 <http://github.com/lare96>
  */
-public final class EventMatcher<E extends Event> {
+public class EventMatcher<E extends Event> {
 
     /**
      * Returns an event matcher that ignores the event and returns {@code false}.
@@ -22,24 +22,31 @@ public final class EventMatcher<E extends Event> {
     /**
      * The matcher function.
      */
-    private final Function<E, Boolean> matchFunc;
+    private final Predicate<E> matchFunc;
 
     /**
      * Creates a new {@link EventMatcher}.
      *
      * @param matchFunc The matcher function.
      */
-    public EventMatcher(Function<E, Boolean> matchFunc) {
+    public EventMatcher(Predicate<E> matchFunc) {
         this.matchFunc = matchFunc;
     }
 
+    /**
+     * Creates a new {@link EventMatcher} for subclasses that override {@link #match(Event)}.
+     */
+    protected EventMatcher() {
+        matchFunc = msg -> false;
+    }
+
     /**
      * Attempts to match {@code msg} to an event listener.
      *
      * @param msg The message to match.
      * @return {@code true} if the event was matched.
      */
-    public final boolean match(E msg) {
-        return matchFunc.apply(msg);
+    public boolean match(E msg) {
+        return matchFunc.test(msg);
     }
 }
\ No newline at end of file
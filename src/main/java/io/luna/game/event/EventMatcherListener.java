@@ -2,6 +2,8 @@ package io.luna.game.event;
 
 import io.luna.game.plugin.RuntimeScript;
 import io.luna.game.plugin.ScriptExecutionException;
+import io.luna.game.plugin.ScriptProfiler;
+import io.luna.game.plugin.ScriptProfiler.Timing;
 import io.luna.util.ReflectionUtils;
 
 import java.util.function.Consumer;
@@ -25,6 +27,11 @@ public final class EventMatcherListener<E extends Event> {
      */
     private final Consumer<E> listener;
 
+    /**
+     * The profiler timing for this listener. Created the first time this listener runs while profiling is enabled.
+     */
+    private Timing timing;
+
     /**
      * Creates a new {@link EventMatcherListener}.
      *
@@ -41,10 +48,20 @@ public final class EventMatcherListener<E extends Event> {
      * @param msg The event to apply the function with.
      */
     public void apply(E msg) {
+        boolean profiling = ScriptProfiler.isEnabled();
+        long start = profiling ? System.nanoTime() : 0L;
         try {
             listener.accept(msg);
         } catch (Exception failure) {
             throw new ScriptExecutionException(script, failure);
+        } finally {
+            if (profiling) {
+                if (timing == null) {
+                    // Matchers are bound to a single event type, so the first event's type is used.
+                    timing = ScriptProfiler.timing(script, msg.getClass());
+                }
+                timing.recordSince(start);
+            }
         }
     }
 
@@ -0,0 +1,147 @@
+package io.luna.game.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An {@link EventMatcher} for events keyed by a primitive {@code int}, such as NPC, item, object, and button
+ * identifiers. Listeners are compiled into a lookup table the first time an event is matched after listeners were
+ * added, so matching an event never boxes its key or hashes it.
+ * <p>
+ * Keys below {@link #DIRECT_LIMIT} are looked up by indexing directly into an array. Larger keys fall back to a
+ * binary search over a sorted key array.
+ *
+ * @param <E> The event type.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class IntKeyEventMatcher<E extends Event> extends EventMatcher<E> {
+
+    /**
+     * The largest key that can be looked up directly. Every identifier in the 317 protocol is below this.
+     */
+    private static final int DIRECT_LIMIT = 65536;
+
+    /**
+     * The function that computes a key from an event.
+     */
+    private final ToIntFunction<E> keyFunction;
+
+    /**
+     * The listeners added since the table was last compiled, in insertion order.
+     */
+    private final Map<Integer, List<EventMatcherListener<E>>> staged = new HashMap<>();
+
+    /**
+     * If listeners were added since the table was last compiled.
+     */
+    private boolean stale;
+
+    /**
+     * The sorted keys, or {@code null} if the table is indexed directly by key.
+     */
+    private int[] keys;
+
+    /**
+     * The compiled listeners. Indexed by key, or by the position of the key within {@link #keys}.
+     */
+    private EventMatcherListener<E>[][] table;
+
+    /**
+     * Creates a new {@link IntKeyEventMatcher}.
+     *
+     * @param keyFunction The function that computes a key from an event.
+     */
+    @SuppressWarnings("unchecked")
+    public IntKeyEventMatcher(ToIntFunction<E> keyFunction) {
+        this.keyFunction = keyFunction;
+        table = new EventMatcherListener[0][];
+    }
+
+    @Override
+    public boolean match(E msg) {
+        if (stale) {
+            compile();
+        }
+        EventMatcherListener<E>[] listeners = lookup(keyFunction.applyAsInt(msg));
+        if (listeners == null) {
+            return false;
+        }
+        for (EventMatcherListener<E> listener : listeners) {
+            listener.apply(msg);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a listener for {@code key}. Listeners with the same key run in the order they were added.
+     *
+     * @param key The key.
+     * @param listener The listener.
+     */
+    public void add(int key, EventMatcherListener<E> listener) {
+        staged.computeIfAbsent(key, k -> new ArrayList<>(1)).add(listener);
+        stale = true;
+    }
+
+    /**
+     * Removes all listeners that satisfy {@code filter}. Usually invoked while reloading plugins.
+     *
+     * @param filter The filter.
+     */
+    public void removeIf(Predicate<EventMatcherListener<E>> filter) {
+        staged.values().forEach(listeners -> listeners.removeIf(filter));
+        staged.values().removeIf(List::isEmpty);
+        stale = true;
+    }
+
+    /**
+     * Retrieves the listeners for {@code key} from the compiled table.
+     *
+     * @param key The key.
+     * @return The listeners, or {@code null} if there are none.
+     */
+    private EventMatcherListener<E>[] lookup(int key) {
+        if (keys == null) {
+            return key >= 0 && key < table.length ? table[key] : null;
+        }
+        int index = Arrays.binarySearch(keys, key);
+        return index < 0 ? null : table[index];
+    }
+
+    /**
+     * Compiles the added listeners into the lookup table.
+     */
+    @SuppressWarnings("unchecked")
+    private void compile() {
+        int minKey = Integer.MAX_VALUE;
+        int maxKey = -1;
+        for (int key : staged.keySet()) {
+            minKey = Math.min(minKey, key);
+            maxKey = Math.max(maxKey, key);
+        }
+
+        if (minKey >= 0 && maxKey < DIRECT_LIMIT) {
+            var newTable = new EventMatcherListener[maxKey + 1][];
+            for (Entry<Integer, List<EventMatcherListener<E>>> entry : staged.entrySet()) {
+                newTable[entry.getKey()] = entry.getValue().toArray(EventMatcherListener[]::new);
+            }
+            keys = null;
+            table = newTable;
+        } else {
+            int[] newKeys = staged.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            var newTable = new EventMatcherListener[newKeys.length][];
+            for (int index = 0; index < newKeys.length; index++) {
+                newTable[index] = staged.get(newKeys[index]).toArray(EventMatcherListener[]::new);
+            }
+            keys = newKeys;
+            table = newTable;
+        }
+        stale = false;
+    }
+}
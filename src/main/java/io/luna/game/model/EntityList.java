@@ -152,7 +152,7 @@ public abstract class EntityList<E extends StationaryEntity> implements Iterable
      * @param position The position to unregister entities on.
      * @return The set of entities.
      */
-    public final Stream<E> findAll(Position position) {
+    public Stream<E> findAll(Position position) {
         var chunkManager = world.getChunks();
         Stream<E> insideChunk = chunkManager.load(position.getChunkPosition()).stream(type);
         return insideChunk.filter(entity -> entity.position.equals(position));
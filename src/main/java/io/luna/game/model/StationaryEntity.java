@@ -2,15 +2,15 @@ package io.luna.game.model;
 
 import com.google.common.collect.ImmutableList;
 import io.luna.LunaContext;
-import io.luna.game.model.chunk.Chunk;
+import io.luna.game.model.chunk.ChunkManager;
+import io.luna.game.model.chunk.ChunkPosition;
 import io.luna.game.model.mob.Player;
 import io.luna.net.msg.GameMessageWriter;
 import io.luna.net.msg.out.ChunkPlacementMessageWriter;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * An abstraction model representing non-moving {@link Entity}.
@@ -36,11 +36,6 @@ public abstract class StationaryEntity extends Entity {
      */
     private final Position placement;
 
-    /**
-     * The surrounding players. Initialized lazily, use {@link #getSurroundingPlayers()}.
-     */
-    private ImmutableList<Set<Player>> surroundingPlayers;
-
     /**
      * If this entity is hidden.
      */
@@ -100,7 +95,8 @@ public abstract class StationaryEntity extends Entity {
     protected abstract GameMessageWriter hideMessage(int offset);
 
     /**
-     * Sends a packet to all applicable players to display this entity.
+     * Queues an update that displays this entity to all applicable players. Updates are sent in batches per chunk
+     * during synchronization, see {@link ChunkManager#queueUpdate(StationaryEntity, UpdateType)}.
      * <strong>This does NOT register the entity, so it cannot be interacted with by a Player.</strong>
      * Use functions in {@link World} to register entities.
      */
@@ -111,7 +107,8 @@ public abstract class StationaryEntity extends Entity {
     }
 
     /**
-     * Sends a packet to all applicable players to hide this entity.
+     * Queues an update that hides this entity from all applicable players. Updates are sent in batches per chunk
+     * during synchronization, see {@link ChunkManager#queueUpdate(StationaryEntity, UpdateType)}.
      * <strong>This does NOT unregister the entity, it just makes it invisible to players.</strong>
      * Use functions in {@link World} to unregister entities.
      */
@@ -121,21 +118,38 @@ public abstract class StationaryEntity extends Entity {
         }
     }
 
+    /**
+     * Marks this entity as visible without sending an update, for entities that are displayed some other way.
+     */
+    public final void setDisplayed() {
+        hidden = false;
+    }
+
     /**
      * Updates this entity, either locally or globally.
      *
      * @param updateType The update type to apply.
      */
     private void applyUpdate(UpdateType updateType) {
+        hidden = updateType == UpdateType.HIDE;
+        world.getChunks().queueUpdate(this, updateType);
+    }
+
+    /**
+     * Applies {@code action} to every player that should receive updates for this entity.
+     *
+     * @param action The action to apply.
+     */
+    public final void forEachRecipient(Consumer<Player> action) {
         if (owner.isPresent() && owner.get().isViewableFrom(this)) {
             // We have a player to update for.
-            sendUpdateMessage(owner.get(), updateType);
+            action.accept(owner.get());
         } else {
             // We don't, so update for all viewable surrounding players.
             for (Set<Player> chunkPlayers : getSurroundingPlayers()) {
                 for (Player inside : chunkPlayers) {
                     if (isViewableFrom(inside)) {
-                        sendUpdateMessage(inside, updateType);
+                        action.accept(inside);
                     }
                 }
             }
@@ -143,22 +157,22 @@ public abstract class StationaryEntity extends Entity {
     }
 
     /**
-     * Sends an update message to {@code player}.
+     * Creates the message that applies {@code updateType} to this entity. It must be preceded by a
+     * {@link ChunkPlacementMessageWriter} for {@link #getPlacement()}.
      *
-     * @param player The player.
-     * @param updateType The update type to apply.
+     * @param updateType The update type.
+     * @return The message.
      */
-    public void sendUpdateMessage(Player player, UpdateType updateType) {
-        player.queue(new ChunkPlacementMessageWriter(placement));
-
+    public final GameMessageWriter updateMessage(UpdateType updateType) {
         int offset = getChunkPosition().offset(position);
-        if (updateType == UpdateType.SHOW) {
-            player.queue(showMessage(offset));
-            hidden = false;
-        } else if (updateType == UpdateType.HIDE) {
-            player.queue(hideMessage(offset));
-            hidden = true;
-        }
+        return updateType == UpdateType.SHOW ? showMessage(offset) : hideMessage(offset);
+    }
+
+    /**
+     * @return The position used for placement.
+     */
+    public final Position getPlacement() {
+        return placement;
     }
 
     /**
@@ -213,21 +227,10 @@ public abstract class StationaryEntity extends Entity {
      * Returns an {@link ImmutableList} representing surrounding players. Each set represents players within a viewable
      * chunk.
      * <p>
-     * We retain references to the original sets instead of flattening them, so that they implicitly stay updated as
-     * players move in and out of view of this entity. This means we only have to build the returned list once.
+     * The list is shared by every entity within this entity's chunk, see
+     * {@link ChunkManager#getViewablePlayers(ChunkPosition)}.
      */
     public final ImmutableList<Set<Player>> getSurroundingPlayers() {
-        if (surroundingPlayers == null) {
-            ImmutableList.Builder<Set<Player>> builder = ImmutableList.builder();
-            // Retrieve viewable chunks.
-            List<Chunk> viewableChunks = world.getChunks().getViewableChunks(position);
-            for (Chunk chunk : viewableChunks) {
-                // Wrap players in immutable view, add it.
-                Set<Player> players = Collections.unmodifiableSet(chunk.getAll(EntityType.PLAYER));
-                builder.add(players);
-            }
-            surroundingPlayers = builder.build();
-        }
-        return surroundingPlayers;
+        return world.getChunks().getViewablePlayers(getChunkPosition());
     }
-}
\ No newline at end of file
+}
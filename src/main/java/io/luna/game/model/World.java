@@ -5,6 +5,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.luna.LunaContext;
 import io.luna.game.model.chunk.ChunkManager;
 import io.luna.game.model.item.GroundItemList;
+import io.luna.game.model.item.RefreshListener;
 import io.luna.game.model.item.shop.ShopManager;
 import io.luna.game.model.mob.MobList;
 import io.luna.game.model.mob.Npc;
@@ -23,7 +24,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -142,6 +145,11 @@ public final class World {
      */
     private final AreaManager areas = new AreaManager(this);
 
+    /**
+     * The item container refresh listeners with pending display updates.
+     */
+    private final List<RefreshListener> pendingRefreshes = new ArrayList<>();
+
     /**
      * A synchronization barrier.
      */
@@ -268,6 +276,9 @@ public final class World {
      * Synchronization part of the game loop, apply the update procedure in parallel.
      */
     private void synchronize() {
+        flushRefreshes();
+        chunks.flushUpdates();
+
         barrier.bulkRegister(playerList.size());
         for (Player player : playerList) {
             service.execute(new PlayerSynchronizationTask(player));
@@ -275,6 +286,32 @@ public final class World {
         barrier.arriveAndAwaitAdvance();
     }
 
+    /**
+     * Sends the pending display updates of all item containers changed this tick. Containers changed by a display
+     * update are queued again, and flushed within the same loop.
+     */
+    private void flushRefreshes() {
+        for (int index = 0; index < pendingRefreshes.size(); index++) {
+            RefreshListener listener = pendingRefreshes.get(index);
+            try {
+                listener.flush();
+            } catch (Exception e) {
+                logger.warn("Item container refresh could not be completed.", e);
+            }
+        }
+        pendingRefreshes.clear();
+    }
+
+    /**
+     * Queues {@code listener} to send its pending display updates before this tick's synchronization. Should only be
+     * used by {@link RefreshListener}.
+     *
+     * @param listener The listener.
+     */
+    public void queueRefresh(RefreshListener listener) {
+        pendingRefreshes.add(listener);
+    }
+
     /**
      * Post-synchronization part of the game loop, reset variables.
      */
@@ -1,20 +1,66 @@
 package io.luna.game.model.chunk;
 
+import com.google.common.collect.ImmutableList;
 import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
+import io.luna.game.model.StationaryEntity;
+import io.luna.game.model.StationaryEntity.UpdateType;
+import io.luna.game.model.item.GroundItem;
+import io.luna.game.model.mob.Player;
+import io.luna.game.model.object.GameObject;
+import io.luna.net.msg.out.ChunkPlacementMessageWriter;
+import io.luna.net.msg.out.ClearChunkMessageWriter;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * A model containing entities and updates for those entities within a chunk.
+ * <p>
+ * Updates to {@link StationaryEntity}s are recorded in a per-tick change log rather than being sent right away. The
+ * log is flushed during synchronization, so every viewer receives all of the changes within this chunk in a single
+ * batch. Players that receive a snapshot of this chunk while updates are pending skip the updates the snapshot
+ * already accounts for.
  *
  * @author lare96 <http://github.com/lare96>
  */
 public final class Chunk {
 
+    /**
+     * An update queued for a {@link StationaryEntity} within this chunk.
+     */
+    private static final class PendingUpdate {
+
+        /**
+         * The entity.
+         */
+        private final StationaryEntity entity;
+
+        /**
+         * The update type.
+         */
+        private final UpdateType updateType;
+
+        /**
+         * Creates a new {@link PendingUpdate}.
+         *
+         * @param entity The entity.
+         * @param updateType The update type.
+         */
+        private PendingUpdate(StationaryEntity entity, UpdateType updateType) {
+            this.entity = entity;
+            this.updateType = updateType;
+        }
+    }
+
     /**
      * This chunk's position.
      */
@@ -25,6 +71,31 @@ public final class Chunk {
      */
     private final ChunkRepository repository = new ChunkRepository();
 
+    /**
+     * The stationary entity updates queued this tick, in order.
+     */
+    private final List<PendingUpdate> pendingUpdates = new ArrayList<>();
+
+    /**
+     * The players sent a snapshot of this chunk this tick, mapped to the amount of updates queued at that moment.
+     */
+    private final Map<Player, Integer> snapshotIndexes = new HashMap<>();
+
+    /**
+     * The amount of updates queued when the most recent snapshot was sent.
+     */
+    private int lastSnapshotIndex;
+
+    /**
+     * The chunks viewable from this chunk, including itself. Built lazily by {@link ChunkManager}.
+     */
+    private ImmutableList<Chunk> viewableChunks;
+
+    /**
+     * Unmodifiable views of the player sets within {@link #viewableChunks}. Built lazily by {@link ChunkManager}.
+     */
+    private ImmutableList<Set<Player>> viewablePlayers;
+
     /**
      * Creates a new {@link ChunkPosition}.
      *
@@ -94,6 +165,145 @@ public final class Chunk {
         return (Iterator<E>) getAll(type).iterator();
     }
 
+    /**
+     * Queues {@code updateType} for {@code entity}, to be sent by {@link #flushUpdates()}. A show that is followed by
+     * a hide within the same tick cancels out, since the entity was never displayed.
+     *
+     * @param entity The entity.
+     * @param updateType The update type.
+     */
+    void queueUpdate(StationaryEntity entity, UpdateType updateType) {
+        if (updateType == UpdateType.HIDE) {
+            for (int index = pendingUpdates.size() - 1; index >= lastSnapshotIndex; index--) {
+                PendingUpdate update = pendingUpdates.get(index);
+                if (update.entity == entity) {
+                    if (update.updateType == UpdateType.SHOW) {
+                        pendingUpdates.remove(index);
+                        return;
+                    }
+                    break;
+                }
+            }
+        }
+        pendingUpdates.add(new PendingUpdate(entity, updateType));
+    }
+
+    /**
+     * Sends all queued updates to the players that should receive them, and clears the change log. Each player
+     * receives a placement message only when the placement changes between updates.
+     */
+    void flushUpdates() {
+        Map<Player, List<PendingUpdate>> playerUpdates = new LinkedHashMap<>();
+        for (int index = 0; index < pendingUpdates.size(); index++) {
+            int updateIndex = index;
+            PendingUpdate update = pendingUpdates.get(index);
+            update.entity.forEachRecipient(player -> {
+                if (updateIndex >= snapshotIndexes.getOrDefault(player, 0)) {
+                    playerUpdates.computeIfAbsent(player, key -> new ArrayList<>()).add(update);
+                }
+            });
+        }
+        for (var entry : playerUpdates.entrySet()) {
+            sendUpdates(entry.getKey(), entry.getValue());
+        }
+        pendingUpdates.clear();
+        snapshotIndexes.clear();
+        lastSnapshotIndex = 0;
+    }
+
+    /**
+     * Clears this chunk for {@code player} and displays every visible dynamic object and ground item within it.
+     * Updates queued before the snapshot won't be sent to {@code player} again when the change log is flushed.
+     *
+     * @param player The player.
+     */
+    void sendSnapshot(Player player) {
+        Iterator<GameObject> objectIterator = iterator(EntityType.OBJECT);
+        Iterator<GroundItem> itemIterator = iterator(EntityType.ITEM);
+        if (objectIterator.hasNext() || itemIterator.hasNext()) {
+            List<PendingUpdate> updates = new ArrayList<>();
+            while (objectIterator.hasNext()) {
+                GameObject object = objectIterator.next();
+                if (object.isDynamic()) {
+                    addSnapshotUpdate(player, object, updates);
+                }
+            }
+            while (itemIterator.hasNext()) {
+                addSnapshotUpdate(player, itemIterator.next(), updates);
+            }
+            player.queue(new ClearChunkMessageWriter(getAbsolutePosition()));
+            sendUpdates(player, updates);
+        }
+        if (!pendingUpdates.isEmpty()) {
+            lastSnapshotIndex = pendingUpdates.size();
+            snapshotIndexes.put(player, lastSnapshotIndex);
+        }
+    }
+
+    /**
+     * Adds an update that shows {@code entity} to {@code updates}, if it's visible to {@code player}.
+     *
+     * @param player The player.
+     * @param entity The entity.
+     * @param updates The snapshot updates.
+     */
+    private void addSnapshotUpdate(Player player, StationaryEntity entity, List<PendingUpdate> updates) {
+        Optional<Player> owner = entity.getOwner();
+        if (!entity.isHidden() && (owner.isEmpty() || owner.get().equals(player))) {
+            updates.add(new PendingUpdate(entity, UpdateType.SHOW));
+        }
+    }
+
+    /**
+     * Queues {@code updates} for {@code player}, only sending a placement message when the placement changes.
+     *
+     * @param player The player.
+     * @param updates The updates.
+     */
+    private void sendUpdates(Player player, List<PendingUpdate> updates) {
+        Position lastPlacement = null;
+        for (PendingUpdate update : updates) {
+            Position placement = update.entity.getPlacement();
+            if (!placement.equals(lastPlacement)) {
+                player.queue(new ChunkPlacementMessageWriter(placement));
+                lastPlacement = placement;
+            }
+            player.queue(update.entity.updateMessage(update.updateType));
+        }
+    }
+
+    /**
+     * @return The chunks viewable from this chunk, or {@code null} if they haven't been built yet.
+     */
+    ImmutableList<Chunk> getViewableChunks() {
+        return viewableChunks;
+    }
+
+    /**
+     * Sets the chunks viewable from this chunk.
+     *
+     * @param viewableChunks The new value.
+     */
+    void setViewableChunks(ImmutableList<Chunk> viewableChunks) {
+        this.viewableChunks = viewableChunks;
+    }
+
+    /**
+     * @return The player sets within the viewable chunks, or {@code null} if they haven't been built yet.
+     */
+    ImmutableList<Set<Player>> getViewablePlayers() {
+        return viewablePlayers;
+    }
+
+    /**
+     * Sets the player sets within the viewable chunks.
+     *
+     * @param viewablePlayers The new value.
+     */
+    void setViewablePlayers(ImmutableList<Set<Player>> viewablePlayers) {
+        this.viewablePlayers = viewablePlayers;
+    }
+
     /**
      * @return The position.
      */
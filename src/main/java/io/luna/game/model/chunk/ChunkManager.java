@@ -1,17 +1,20 @@
 package io.luna.game.model.chunk;
 
+import com.google.common.collect.ImmutableList;
 import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
+import io.luna.game.model.StationaryEntity;
+import io.luna.game.model.StationaryEntity.UpdateType;
 import io.luna.game.model.mob.Mob;
 import io.luna.game.model.mob.Npc;
 import io.luna.game.model.mob.Player;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
@@ -42,6 +45,11 @@ public final class ChunkManager implements Iterable<Chunk> {
      */
     private final Map<ChunkPosition, Chunk> chunks = new HashMap<>(128); // TODO Proper initial size after cache loading.
 
+    /**
+     * The chunks with stationary entity updates queued this tick.
+     */
+    private final Set<Chunk> pendingChunks = new LinkedHashSet<>();
+
     @Override
     public Spliterator<Chunk> spliterator() {
         return Spliterators.spliterator(chunks.values(), Spliterator.NONNULL);
@@ -72,6 +80,41 @@ public final class ChunkManager implements Iterable<Chunk> {
         return load(position.getChunkPosition());
     }
 
+    /**
+     * Queues {@code updateType} for {@code entity} within its chunk. The update is sent to viewers along with every
+     * other update in that chunk when {@link #flushUpdates()} is invoked.
+     *
+     * @param entity The entity.
+     * @param updateType The update type.
+     */
+    public void queueUpdate(StationaryEntity entity, UpdateType updateType) {
+        Chunk chunk = load(entity.getChunkPosition());
+        chunk.queueUpdate(entity, updateType);
+        pendingChunks.add(chunk);
+    }
+
+    /**
+     * Sends the updates queued within every chunk this tick. Invoked by {@link io.luna.game.model.World} once per
+     * tick, before players are synchronized.
+     */
+    public void flushUpdates() {
+        for (Chunk chunk : pendingChunks) {
+            chunk.flushUpdates();
+        }
+        pendingChunks.clear();
+    }
+
+    /**
+     * Sends {@code player} a snapshot of the stationary entities within {@code position}, replacing whatever the
+     * client previously displayed there.
+     *
+     * @param player The player.
+     * @param position The chunk position.
+     */
+    public void sendSnapshot(Player player, ChunkPosition position) {
+        load(position).sendSnapshot(player);
+    }
+
     /**
      * Shortcut to {@link #getUpdateMobs(Player, EntityType)} for type {@code PLAYER}.
      */
@@ -103,15 +146,11 @@ public final class ChunkManager implements Iterable<Chunk> {
             updateSet = new HashSet<>();
         }
 
-        var chunkPosition = player.getChunkPosition();
-        for (int x = -RADIUS; x < RADIUS; x++) {
-            for (int y = -RADIUS; y < RADIUS; y++) {
-                var currentChunk = load(chunkPosition.translate(x, y));
-                Set<T> mobs = currentChunk.getAll(type);
-                for (T inside : mobs) {
-                    if (inside.isViewableFrom(player)) {
-                        updateSet.add(inside);
-                    }
+        for (Chunk currentChunk : getViewableChunks(player.getChunkPosition())) {
+            Set<T> mobs = currentChunk.getAll(type);
+            for (T inside : mobs) {
+                if (inside.isViewableFrom(player)) {
+                    updateSet.add(inside);
                 }
             }
         }
@@ -128,15 +167,11 @@ public final class ChunkManager implements Iterable<Chunk> {
      */
     public <T extends Entity> Set<T> getViewableEntities(Position position, EntityType type) {
         Set<T> viewable = new HashSet<>();
-        ChunkPosition chunkPos = position.getChunkPosition();
-        for (int x = -RADIUS; x < RADIUS; x++) {
-            for (int y = -RADIUS; y < RADIUS; y++) {
-                Chunk chunk = load(chunkPos.translate(x, y));
-                Set<T> entities = chunk.getAll(type);
-                for (T inside : entities) {
-                    if (inside.getPosition().isViewable(position)) {
-                        viewable.add(inside);
-                    }
+        for (Chunk chunk : getViewableChunks(position)) {
+            Set<T> entities = chunk.getAll(type);
+            for (T inside : entities) {
+                if (inside.getPosition().isViewable(position)) {
+                    viewable.add(inside);
                 }
             }
         }
@@ -144,19 +179,53 @@ public final class ChunkManager implements Iterable<Chunk> {
     }
 
     /**
-     * Returns a list of viewable chunks.
+     * Shortcut to {@link #getViewableChunks(ChunkPosition)} for the chunk containing {@code position}.
+     */
+    public ImmutableList<Chunk> getViewableChunks(Position position) {
+        return getViewableChunks(position.getChunkPosition());
+    }
+
+    /**
+     * Returns the chunks viewable from {@code position}. The list only depends on the chunk, so it's built the first
+     * time it's requested and then shared by every caller. Since chunks are never unloaded, it never goes stale.
      *
-     * @param position The relative position.
-     * @return The list.
-     */
-    public List<Chunk> getViewableChunks(Position position) {
-        List<Chunk> viewable = new ArrayList<>(16);
-        ChunkPosition chunkPos = position.getChunkPosition();
-        for (int x = -RADIUS; x < RADIUS; x++) {
-            for (int y = -RADIUS; y < RADIUS; y++) {
-                Chunk chunk = load(chunkPos.translate(x, y));
-                viewable.add(chunk);
+     * @param position The chunk position.
+     * @return The viewable chunks.
+     */
+    public ImmutableList<Chunk> getViewableChunks(ChunkPosition position) {
+        Chunk chunk = load(position);
+        ImmutableList<Chunk> viewable = chunk.getViewableChunks();
+        if (viewable == null) {
+            ImmutableList.Builder<Chunk> builder = ImmutableList.builderWithExpectedSize(RADIUS * RADIUS * 4);
+            for (int x = -RADIUS; x < RADIUS; x++) {
+                for (int y = -RADIUS; y < RADIUS; y++) {
+                    builder.add(load(position.translate(x, y)));
+                }
+            }
+            viewable = builder.build();
+            chunk.setViewableChunks(viewable);
+        }
+        return viewable;
+    }
+
+    /**
+     * Returns unmodifiable views of the player sets within the chunks viewable from {@code position}. The views are
+     * backed by the chunks themselves, so they stay updated as players move in and out of view. Like
+     * {@link #getViewableChunks(ChunkPosition)}, the list is built once per chunk and shared by every caller.
+     *
+     * @param position The chunk position.
+     * @return The player sets.
+     */
+    public ImmutableList<Set<Player>> getViewablePlayers(ChunkPosition position) {
+        Chunk chunk = load(position);
+        ImmutableList<Set<Player>> viewable = chunk.getViewablePlayers();
+        if (viewable == null) {
+            ImmutableList.Builder<Set<Player>> builder = ImmutableList.builderWithExpectedSize(RADIUS * RADIUS * 4);
+            for (Chunk viewableChunk : getViewableChunks(position)) {
+                builder.add(Collections.unmodifiableSet(viewableChunk.getAll(EntityType.PLAYER)));
             }
+            viewable = builder.build();
+            chunk.setViewablePlayers(viewable);
         }
         return viewable;
     }
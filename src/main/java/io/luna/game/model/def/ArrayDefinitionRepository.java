@@ -5,8 +5,11 @@ import com.google.common.collect.Iterators;
 import java.util.Iterator;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
- * An implementation of {@link DefinitionRepository} that is backed internally by an array.
+ * An implementation of {@link DefinitionRepository} that is backed internally by an array. Definitions stored from a
+ * {@link DefinitionPack} are decoded the first time they're requested.
  */
 public final class ArrayDefinitionRepository<T extends Definition> extends DefinitionRepository<T> {
 
@@ -15,6 +18,16 @@ public final class ArrayDefinitionRepository<T extends Definition> extends Defin
      */
     public final T[] definitions;
 
+    /**
+     * The pack that definitions are decoded from, or {@code null} if they were all stored directly.
+     */
+    private DefinitionPack<T> pack;
+
+    /**
+     * If every definition within {@link #pack} has been decoded.
+     */
+    private boolean decodedAll;
+
     /**
      * Creates a new {@link ArrayDefinitionRepository}.
      *
@@ -31,13 +44,48 @@ public final class ArrayDefinitionRepository<T extends Definition> extends Defin
         definitions[id] = definition;
     }
 
+    @Override
+    void putAll(DefinitionPack<T> pack) {
+        checkArgument(pack.size() == 0 || pack.getId(pack.size() - 1) < definitions.length,
+                "Definition pack contains identifiers outside of this repository.");
+        this.pack = pack;
+    }
+
     @Override
     public Optional<T> get(int id) {
-        return Optional.ofNullable(definitions[id]);
+        T definition = definitions[id];
+        if (definition == null && pack != null) {
+            definition = decode(id);
+        }
+        return Optional.ofNullable(definition);
     }
 
     @Override
     public Iterator<T> newIterator() {
+        if (pack != null && !decodedAll) {
+            for (int index = 0; index < pack.size(); index++) {
+                int id = pack.getId(index);
+                if (definitions[id] == null) {
+                    decode(id);
+                }
+            }
+            decodedAll = true;
+        }
         return Iterators.forArray(definitions);
     }
+
+    /**
+     * Decodes the definition with {@code id} from the pack, and caches it. Definitions are immutable, so a definition
+     * being decoded by two threads at once is harmless.
+     *
+     * @param id The definition identifier.
+     * @return The definition, or {@code null} if the pack doesn't contain it.
+     */
+    private T decode(int id) {
+        T definition = pack.decode(id);
+        if (definition != null) {
+            definitions[id] = definition;
+        }
+        return definition;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package io.luna.game.model.def;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A model that converts definitions to and from the compact binary form stored within a {@link DefinitionPack}.
+ *
+ * @param <T> The definition type.
+ * @author lare96 <http://github.com/lare96>
+ */
+public interface DefinitionCodec<T extends Definition> {
+
+    /**
+     * Encodes {@code definition}. The identifier is stored by the pack, and doesn't need to be encoded.
+     *
+     * @param definition The definition.
+     * @param out The output to write to.
+     * @throws IOException If any errors occur while writing.
+     */
+    void encode(T definition, DataOutput out) throws IOException;
+
+    /**
+     * Decodes a definition previously written by {@link #encode(Definition, DataOutput)}.
+     *
+     * @param id The identifier.
+     * @param buf The buffer, positioned at the start of the definition.
+     * @return The decoded definition.
+     */
+    T decode(int id, ByteBuffer buf);
+}
@@ -0,0 +1,410 @@
+package io.luna.game.model.def;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A case-insensitive index over the names of the definitions within a {@link DefinitionRepository}. Names and the
+ * individual words within them are kept in sorted arrays, so prefix queries are a binary search rather than a scan
+ * over every definition.
+ * <p>
+ * {@link #search(String, int)} ranks matches, from best to worst, as:
+ * <ol>
+ *     <li>The name equals the query.</li>
+ *     <li>The name starts with the query.</li>
+ *     <li>Every word in the query starts a word in the name.</li>
+ *     <li>Every word in the query is contained within a word in the name.</li>
+ *     <li>Every word in the query is within a small edit distance of a word in the name.</li>
+ * </ol>
+ * Matches of the same rank are ordered by name length, then identifier.
+ * <p>
+ * The index is built from the repository the first time it's queried, which must be after the repository has been
+ * loaded. {@link #build()} can be used to build it ahead of time.
+ *
+ * @param <T> The definition type.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class DefinitionNameIndex<T extends Definition> {
+
+    /**
+     * The pattern that splits names into words.
+     */
+    private static final Pattern WORD_SPLITTER = Pattern.compile("[^a-z0-9]+");
+
+    /**
+     * The rank of a name that equals the query.
+     */
+    private static final int EXACT = 0;
+
+    /**
+     * The rank of a name that starts with the query.
+     */
+    private static final int NAME_PREFIX = 1;
+
+    /**
+     * The rank of a name containing words that start with every query word.
+     */
+    private static final int WORD_PREFIX = 2;
+
+    /**
+     * The rank of a name containing words that contain every query word.
+     */
+    private static final int WORD_SUBSTRING = 3;
+
+    /**
+     * The rank of a name containing words similar to every query word.
+     */
+    private static final int WORD_FUZZY = 4;
+
+    /**
+     * The rank of a name that doesn't match.
+     */
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    /**
+     * The built index.
+     */
+    private static final class Index<T extends Definition> {
+
+        /**
+         * The indexed definitions.
+         */
+        private final List<T> entries;
+
+        /**
+         * The normalized name of each entry.
+         */
+        private final String[] entryNames;
+
+        /**
+         * The sorted, normalized names.
+         */
+        private final String[] names;
+
+        /**
+         * The entry for each name in {@link #names}.
+         */
+        private final int[] nameEntries;
+
+        /**
+         * The sorted, distinct words.
+         */
+        private final String[] words;
+
+        /**
+         * The entries containing each word in {@link #words}.
+         */
+        private final int[][] wordEntries;
+
+        /**
+         * Creates a new {@link Index}.
+         *
+         * @param entries The indexed definitions.
+         * @param entryNames The normalized name of each entry.
+         */
+        private Index(List<T> entries, String[] entryNames) {
+            this.entries = entries;
+            this.entryNames = entryNames;
+
+            Integer[] order = new Integer[entryNames.length];
+            Arrays.setAll(order, index -> index);
+            Arrays.sort(order, Comparator.comparing(index -> entryNames[index]));
+            names = new String[order.length];
+            nameEntries = new int[order.length];
+            for (int index = 0; index < order.length; index++) {
+                names[index] = entryNames[order[index]];
+                nameEntries[index] = order[index];
+            }
+
+            TreeMap<String, List<Integer>> wordMap = new TreeMap<>();
+            for (int entry = 0; entry < entryNames.length; entry++) {
+                for (String word : splitWords(entryNames[entry])) {
+                    List<Integer> wordList = wordMap.computeIfAbsent(word, key -> new ArrayList<>(1));
+                    if (wordList.isEmpty() || wordList.get(wordList.size() - 1) != entry) {
+                        wordList.add(entry);
+                    }
+                }
+            }
+            words = wordMap.keySet().toArray(String[]::new);
+            wordEntries = wordMap.values().stream().
+                    map(wordList -> wordList.stream().mapToInt(Integer::intValue).toArray()).
+                    toArray(int[][]::new);
+        }
+    }
+
+    /**
+     * The repository.
+     */
+    private final DefinitionRepository<T> repository;
+
+    /**
+     * The function that retrieves a name from a definition.
+     */
+    private final Function<T, String> nameFunction;
+
+    /**
+     * The built index, or {@code null} if it hasn't been built yet.
+     */
+    private volatile Index<T> index;
+
+    /**
+     * Creates a new {@link DefinitionNameIndex}.
+     *
+     * @param repository The repository.
+     * @param nameFunction The function that retrieves a name from a definition.
+     */
+    public DefinitionNameIndex(DefinitionRepository<T> repository, Function<T, String> nameFunction) {
+        this.repository = repository;
+        this.nameFunction = nameFunction;
+    }
+
+    /**
+     * Builds the index, if it hasn't been built already.
+     */
+    public void build() {
+        getIndex();
+    }
+
+    /**
+     * Finds all definitions whose name equals {@code name}, ignoring case.
+     *
+     * @param name The name.
+     * @return The matching definitions.
+     */
+    public ImmutableList<T> withName(String name) {
+        Index<T> current = getIndex();
+        String normalized = normalize(name);
+        ImmutableList.Builder<T> matches = ImmutableList.builder();
+        for (int position = lowerBound(current.names, normalized);
+             position < current.names.length && current.names[position].equals(normalized); position++) {
+            matches.add(current.entries.get(current.nameEntries[position]));
+        }
+        return matches.build();
+    }
+
+    /**
+     * Finds all definitions whose name starts with {@code prefix}, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix.
+     * @return The matching definitions.
+     */
+    public ImmutableList<T> withPrefix(String prefix) {
+        Index<T> current = getIndex();
+        String normalized = normalize(prefix);
+        ImmutableList.Builder<T> matches = ImmutableList.builder();
+        for (int position = lowerBound(current.names, normalized);
+             position < current.names.length && current.names[position].startsWith(normalized); position++) {
+            matches.add(current.entries.get(current.nameEntries[position]));
+        }
+        return matches.build();
+    }
+
+    /**
+     * Performs a ranked, fuzzy search for definitions matching {@code query}.
+     *
+     * @param query The query.
+     * @param limit The maximum amount of results.
+     * @return The matching definitions, best matches first.
+     */
+    public ImmutableList<T> search(String query, int limit) {
+        Index<T> current = getIndex();
+        String normalized = normalize(query);
+        List<String> queryWords = splitWords(normalized);
+        if (queryWords.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        // Rank entries by how well their words match every query word.
+        int[] ranks = new int[current.entries.size()];
+        int[] wordRanks = new int[ranks.length];
+        for (int queryWord = 0; queryWord < queryWords.size(); queryWord++) {
+            Arrays.fill(wordRanks, NO_MATCH);
+            rankWord(current, queryWords.get(queryWord), wordRanks);
+            for (int entry = 0; entry < ranks.length; entry++) {
+                ranks[entry] = queryWord == 0 ? wordRanks[entry] : Math.max(ranks[entry], wordRanks[entry]);
+            }
+        }
+
+        // Whole name matches outrank word matches.
+        for (int position = lowerBound(current.names, normalized);
+             position < current.names.length && current.names[position].startsWith(normalized); position++) {
+            int entry = current.nameEntries[position];
+            ranks[entry] = current.names[position].length() == normalized.length() ? EXACT : NAME_PREFIX;
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int entry = 0; entry < ranks.length; entry++) {
+            if (ranks[entry] != NO_MATCH) {
+                matches.add(entry);
+            }
+        }
+        return matches.stream().
+                sorted(Comparator.<Integer>comparingInt(entry -> ranks[entry]).
+                        thenComparingInt(entry -> current.entryNames[entry].length()).
+                        thenComparingInt(entry -> current.entries.get(entry).getId())).
+                limit(limit).
+                map(current.entries::get).
+                collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Ranks how well the words of each entry match a single query word.
+     *
+     * @param current The index.
+     * @param queryWord The query word.
+     * @param wordRanks The best rank of each entry, updated by this function.
+     */
+    private void rankWord(Index<T> current, String queryWord, int[] wordRanks) {
+        int prefixStart = lowerBound(current.words, queryWord);
+        int prefixEnd = prefixStart;
+        while (prefixEnd < current.words.length && current.words[prefixEnd].startsWith(queryWord)) {
+            rankEntries(current.wordEntries[prefixEnd++], WORD_PREFIX, wordRanks);
+        }
+
+        int maxDistance = queryWord.length() >= 8 ? 2 : queryWord.length() >= 4 ? 1 : 0;
+        for (int position = 0; position < current.words.length; position++) {
+            if (position >= prefixStart && position < prefixEnd) {
+                continue;
+            }
+            String word = current.words[position];
+            if (word.contains(queryWord)) {
+                rankEntries(current.wordEntries[position], WORD_SUBSTRING, wordRanks);
+            } else if (maxDistance > 0 && editDistance(queryWord, word, maxDistance) <= maxDistance) {
+                rankEntries(current.wordEntries[position], WORD_FUZZY, wordRanks);
+            }
+        }
+    }
+
+    /**
+     * Lowers the rank of {@code entries} to {@code rank}, if it's an improvement.
+     *
+     * @param entries The entries.
+     * @param rank The rank.
+     * @param wordRanks The best rank of each entry.
+     */
+    private void rankEntries(int[] entries, int rank, int[] wordRanks) {
+        for (int entry : entries) {
+            wordRanks[entry] = Math.min(wordRanks[entry], rank);
+        }
+    }
+
+    /**
+     * Retrieves the index, building it if needed.
+     *
+     * @return The index.
+     */
+    private Index<T> getIndex() {
+        Index<T> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    checkState(repository.isLocked(), "Definitions have not been loaded yet.");
+                    List<T> entries = new ArrayList<>();
+                    List<String> entryNames = new ArrayList<>();
+                    for (T definition : repository) {
+                        String name = definition == null ? null : nameFunction.apply(definition);
+                        if (name != null && !name.isBlank()) {
+                            entries.add(definition);
+                            entryNames.add(normalize(name));
+                        }
+                    }
+                    index = current = new Index<>(entries, entryNames.toArray(String[]::new));
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Normalizes {@code name} for comparison.
+     *
+     * @param name The name.
+     * @return The normalized name.
+     */
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a normalized name into words.
+     *
+     * @param name The normalized name.
+     * @return The words.
+     */
+    private static List<String> splitWords(String name) {
+        List<String> words = new ArrayList<>(4);
+        for (String word : WORD_SPLITTER.split(name)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Finds the first position in {@code sorted} that is not less than {@code key}.
+     *
+     * @param sorted The sorted array.
+     * @param key The key.
+     * @return The position.
+     */
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, giving up once it exceeds {@code maxDistance}.
+     *
+     * @param first The first word.
+     * @param second The second word.
+     * @param maxDistance The maximum distance of interest.
+     * @return The distance, or a value above {@code maxDistance}.
+     */
+    private static int editDistance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] next = new int[second.length() + 1];
+        for (int column = 0; column < previous.length; column++) {
+            previous[column] = column;
+        }
+        for (int row = 1; row <= first.length(); row++) {
+            next[0] = row;
+            int rowMin = row;
+            for (int column = 1; column <= second.length(); column++) {
+                int cost = first.charAt(row - 1) == second.charAt(column - 1) ? 0 : 1;
+                next[column] = Math.min(Math.min(next[column - 1], previous[column]) + 1, previous[column - 1] + cost);
+                rowMin = Math.min(rowMin, next[column]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = next;
+            next = swap;
+        }
+        return previous[second.length()];
+    }
+}
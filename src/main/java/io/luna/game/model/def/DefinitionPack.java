@@ -0,0 +1,303 @@
+package io.luna.game.model.def;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A memory-mapped file of definitions in their compact binary form, compiled from the source {@code JSON} files. The
+ * index of identifiers is read when a pack is opened, but definitions are only decoded when they're requested.
+ * <p>
+ * Every pack records a hash of the files it was compiled from, and is considered stale as soon as they change. The
+ * {@link #VERSION} must be incremented whenever a {@link DefinitionCodec} changes its format.
+ *
+ * @param <T> The definition type.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class DefinitionPack<T extends Definition> {
+
+    /**
+     * The function used to hash source files.
+     */
+    public static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    /**
+     * The value every pack starts with.
+     */
+    private static final int MAGIC = 0x4C44504B;
+
+    /**
+     * The pack format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the header: the magic value, version, source hash, and definition count.
+     */
+    private static final int HEADER_SIZE = 12 + HASH_FUNCTION.bits() / Byte.SIZE;
+
+    /**
+     * The size of a single index entry: the identifier and offset.
+     */
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    /**
+     * The codec.
+     */
+    private final DefinitionCodec<T> codec;
+
+    /**
+     * The sorted definition identifiers.
+     */
+    private final int[] ids;
+
+    /**
+     * The offsets of each definition within {@link #data}, in the same order as {@link #ids}.
+     */
+    private final int[] offsets;
+
+    /**
+     * The mapped definition data.
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Creates a new {@link DefinitionPack}.
+     *
+     * @param codec The codec.
+     * @param ids The sorted definition identifiers.
+     * @param offsets The offsets of each definition.
+     * @param data The mapped definition data.
+     */
+    private DefinitionPack(DefinitionCodec<T> codec, int[] ids, int[] offsets, ByteBuffer data) {
+        this.codec = codec;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.data = data;
+    }
+
+    /**
+     * Opens and maps the pack at {@code file}.
+     *
+     * @param file The pack file.
+     * @param sourceHash The hash of the current source files.
+     * @param codec The codec.
+     * @param <T> The definition type.
+     * @return The pack, or an empty optional if it doesn't exist or is stale.
+     * @throws IOException If any errors occur while reading the pack.
+     */
+    public static <T extends Definition> Optional<DefinitionPack<T>> open(Path file, HashCode sourceHash,
+                                                                       DefinitionCodec<T> codec) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Validate the header before mapping, so stale packs are never mapped and can be replaced freely.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1) {
+                    return Optional.empty();
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            byte[] hash = new byte[HASH_FUNCTION.bits() / Byte.SIZE];
+            header.get(hash);
+            if (!HashCode.fromBytes(hash).equals(sourceHash)) {
+                return Optional.empty();
+            }
+            int count = header.getInt();
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.position(HEADER_SIZE);
+            int[] ids = new int[count];
+            int[] offsets = new int[count];
+            for (int index = 0; index < count; index++) {
+                ids[index] = mapped.getInt();
+                offsets[index] = mapped.getInt();
+            }
+            return Optional.of(new DefinitionPack<>(codec, ids, offsets, mapped.slice()));
+        }
+    }
+
+    /**
+     * Compiles {@code definitions} into a pack at {@code file}, replacing any existing pack.
+     *
+     * @param file The pack file.
+     * @param sourceHash The hash of the source files.
+     * @param definitions The definitions, in ascending identifier order.
+     * @param codec The codec.
+     * @param <T> The definition type.
+     * @throws IOException If any errors occur while writing the pack.
+     */
+    public static <T extends Definition> void write(Path file, HashCode sourceHash, List<T> definitions,
+                                                    DefinitionCodec<T> codec) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream dataOut = new DataOutputStream(data);
+        int[] ids = new int[definitions.size()];
+        int[] offsets = new int[definitions.size()];
+        for (int index = 0; index < ids.length; index++) {
+            T definition = definitions.get(index);
+            ids[index] = definition.getId();
+            checkArgument(index == 0 || ids[index] > ids[index - 1], "Definitions must be in ascending order.");
+            offsets[index] = dataOut.size();
+            codec.encode(definition, dataOut);
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(sourceHash.asBytes());
+            out.writeInt(ids.length);
+            for (int index = 0; index < ids.length; index++) {
+                out.writeInt(ids[index]);
+                out.writeInt(offsets[index]);
+            }
+            data.writeTo(out);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Decodes the definition with {@code id}.
+     *
+     * @param id The definition identifier.
+     * @return The definition, or {@code null} if this pack doesn't contain it.
+     */
+    public T decode(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return null;
+        }
+        ByteBuffer buf = data.duplicate();
+        buf.position(offsets[index]);
+        return codec.decode(id, buf);
+    }
+
+    /**
+     * Returns the identifier at {@code index}.
+     *
+     * @param index The index, between {@code 0} and {@link #size()}.
+     * @return The identifier.
+     */
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return The amount of definitions in this pack.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Writes a string in the format read by {@link #readString(ByteBuffer)}.
+     *
+     * @param out The output to write to.
+     * @param value The string.
+     * @throws IOException If any errors occur while writing.
+     * @throws IllegalArgumentException If the string is longer than 65535 bytes.
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        checkArgument(bytes.length <= 0xFFFF, "String is too long to pack.");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param buf The buffer to read from.
+     * @return The string.
+     */
+    static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes an array of integers in the format read by {@link #readInts(ByteBuffer)}.
+     *
+     * @param out The output to write to.
+     * @param values The integers.
+     * @throws IOException If any errors occur while writing.
+     * @throws IllegalArgumentException If there are more than 255 integers.
+     */
+    static void writeInts(DataOutput out, int[] values) throws IOException {
+        checkArgument(values.length <= 0xFF, "Too many integers to pack.");
+        out.writeByte(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Reads an array of integers written by {@link #writeInts(DataOutput, int[])}.
+     *
+     * @param buf The buffer to read from.
+     * @return The integers.
+     */
+    static int[] readInts(ByteBuffer buf) {
+        int[] values = new int[buf.get() & 0xFF];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = buf.getInt();
+        }
+        return values;
+    }
+
+    /**
+     * Writes a list of strings in the format read by {@link #readStrings(ByteBuffer)}.
+     *
+     * @param out The output to write to.
+     * @param values The strings.
+     * @throws IOException If any errors occur while writing.
+     * @throws IllegalArgumentException If the string is longer than 65535 bytes.
+     */
+    static void writeStrings(DataOutput out, List<String> values) throws IOException {
+        checkArgument(values.size() <= 0xFF, "Too many strings to pack.");
+        out.writeByte(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * Reads a list of strings written by {@link #writeStrings(DataOutput, List)}.
+     *
+     * @param buf The buffer to read from.
+     * @return The strings.
+     */
+    static String[] readStrings(ByteBuffer buf) {
+        String[] values = new String[buf.get() & 0xFF];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = readString(buf);
+        }
+        return values;
+    }
+}
@@ -54,6 +54,14 @@ public abstract class DefinitionRepository<T extends Definition> implements Iter
      */
     abstract void put(int id, T definition);
 
+    /**
+     * Makes the definitions within {@code pack} available from this repository. Implementations may decode them
+     * lazily, as they're requested. Should only ever be used by this class.
+     *
+     * @param pack The definition pack.
+     */
+    abstract void putAll(DefinitionPack<T> pack);
+
     /**
      * Performs a lookup for the definition with {@code id}. Wraps the result in an optional.
      *
@@ -124,6 +132,20 @@ public abstract class DefinitionRepository<T extends Definition> implements Iter
         lock();
     }
 
+    /**
+     * Attempts to store all definitions within {@code pack}, and locks the repository afterwards.
+     *
+     * @param pack The definition pack.
+     */
+    public final void storePackAndLock(DefinitionPack<T> pack) {
+        checkState(!locked, "Cannot add definitions to a locked repository.");
+        checkState(size == 0, "Definition packs can only be stored in empty repositories.");
+
+        putAll(pack);
+        size = pack.size();
+        lock();
+    }
+
     /**
      * Locks this repository, making it read-only. This cannot be undone.
      */
@@ -141,6 +163,13 @@ public abstract class DefinitionRepository<T extends Definition> implements Iter
         return StreamSupport.stream(spliterator(), false).filter(Objects::nonNull);
     }
 
+    /**
+     * @return {@code true} if this repository is read-only.
+     */
+    public final boolean isLocked() {
+        return locked;
+    }
+
     /**
      * @return The size of this repository.
      */
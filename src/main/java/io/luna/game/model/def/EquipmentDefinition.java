@@ -7,9 +7,16 @@ import io.luna.game.model.mob.Mob;
 import io.luna.game.model.mob.Player;
 import io.luna.game.model.mob.Skill;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Optional;
 
+import static io.luna.game.model.def.DefinitionPack.readInts;
+import static io.luna.game.model.def.DefinitionPack.readString;
+import static io.luna.game.model.def.DefinitionPack.writeInts;
+import static io.luna.game.model.def.DefinitionPack.writeString;
 import static io.luna.util.StringUtils.addArticle;
 
 /**
@@ -45,9 +52,19 @@ public final class EquipmentDefinition implements Definition {
          * @param jsonReq The requirement data, in JSON.
          */
         public Requirement(JsonObject jsonReq) {
-            name = jsonReq.get("name").getAsString();
+            this(jsonReq.get("name").getAsString(), jsonReq.get("level").getAsInt());
+        }
+
+        /**
+         * Creates a new {@link Requirement}.
+         *
+         * @param name The skill name.
+         * @param level The level.
+         */
+        Requirement(String name, int level) {
+            this.name = name;
+            this.level = level;
             id = Skill.getId(name);
-            level = jsonReq.get("level").getAsInt();
         }
 
         @Override
@@ -108,6 +125,39 @@ public final class EquipmentDefinition implements Definition {
      */
     public static final DefinitionRepository<EquipmentDefinition> ALL = new MapDefinitionRepository<>();
 
+    /**
+     * The equipment definition codec.
+     */
+    public static final DefinitionCodec<EquipmentDefinition> CODEC = new DefinitionCodec<>() {
+        @Override
+        public void encode(EquipmentDefinition definition, DataOutput out) throws IOException {
+            out.writeInt(definition.index);
+            out.writeBoolean(definition.twoHanded);
+            out.writeBoolean(definition.fullBody);
+            out.writeBoolean(definition.fullHelmet);
+            out.writeByte(definition.requirements.size());
+            for (Requirement requirement : definition.requirements) {
+                writeString(out, requirement.name);
+                out.writeInt(requirement.level);
+            }
+            writeInts(out, definition.bonuses);
+        }
+
+        @Override
+        public EquipmentDefinition decode(int id, ByteBuffer buf) {
+            int index = buf.getInt();
+            boolean twoHanded = buf.get() != 0;
+            boolean fullBody = buf.get() != 0;
+            boolean fullHelmet = buf.get() != 0;
+            Requirement[] requirements = new Requirement[buf.get() & 0xFF];
+            for (int reqIndex = 0; reqIndex < requirements.length; reqIndex++) {
+                requirements[reqIndex] = new Requirement(readString(buf), buf.getInt());
+            }
+            int[] bonuses = readInts(buf);
+            return new EquipmentDefinition(id, index, twoHanded, fullBody, fullHelmet, requirements, bonuses);
+        }
+    };
+
     /**
      * The identifier.
      */
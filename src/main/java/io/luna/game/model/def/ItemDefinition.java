@@ -2,8 +2,16 @@ package io.luna.game.model.def;
 
 import com.google.common.collect.ImmutableList;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.OptionalInt;
 
+import static io.luna.game.model.def.DefinitionPack.readString;
+import static io.luna.game.model.def.DefinitionPack.readStrings;
+import static io.luna.game.model.def.DefinitionPack.writeString;
+import static io.luna.game.model.def.DefinitionPack.writeStrings;
+
 /**
  * A definition model describing an item.
  *
@@ -21,6 +29,47 @@ public final class ItemDefinition implements Definition {
      */
     public static final DefinitionRepository<ItemDefinition> ALL = new ArrayDefinitionRepository<>(SIZE);
 
+    /**
+     * The item name index.
+     */
+    public static final DefinitionNameIndex<ItemDefinition> NAMES =
+            new DefinitionNameIndex<>(ALL, ItemDefinition::getName);
+
+    /**
+     * The item definition codec.
+     */
+    public static final DefinitionCodec<ItemDefinition> CODEC = new DefinitionCodec<>() {
+        @Override
+        public void encode(ItemDefinition definition, DataOutput out) throws IOException {
+            writeString(out, definition.name);
+            out.writeBoolean(definition.stackable);
+            out.writeInt(definition.value);
+            out.writeInt(definition.notedId.orElse(-1));
+            out.writeInt(definition.unnotedId.orElse(-1));
+            out.writeBoolean(definition.membersOnly);
+            out.writeDouble(definition.weight);
+            out.writeBoolean(definition.tradeable);
+            writeStrings(out, definition.inventoryActions);
+            writeStrings(out, definition.groundActions);
+        }
+
+        @Override
+        public ItemDefinition decode(int id, ByteBuffer buf) {
+            String name = readString(buf);
+            boolean stackable = buf.get() != 0;
+            int value = buf.getInt();
+            int notedId = buf.getInt();
+            int unnotedId = buf.getInt();
+            boolean membersOnly = buf.get() != 0;
+            double weight = buf.getDouble();
+            boolean tradeable = buf.get() != 0;
+            String[] inventoryActions = readStrings(buf);
+            String[] groundActions = readStrings(buf);
+            return new ItemDefinition(id, name, stackable, value, notedId, unnotedId, membersOnly, weight, tradeable,
+                    inventoryActions, groundActions);
+        }
+    };
+
     /**
      * The identifier.
      */
@@ -0,0 +1,177 @@
+package io.luna.game.model.def;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A column-oriented copy of the {@link ItemDefinition} attributes read most often by the item subsystem, stored in
+ * primitive arrays indexed by item identifier. Lookups don't allocate, unwrap an {@link java.util.Optional}, or chase a
+ * pointer to the definition itself.
+ * <p>
+ * The columns are built from {@link ItemDefinition#ALL} the first time they're accessed, which must be after item
+ * definitions have been loaded.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ItemDefinitionColumns {
+
+    /**
+     * The columns, or {@code null} if they haven't been built yet.
+     */
+    private static volatile ItemDefinitionColumns columns;
+
+    /**
+     * The identifiers that have a definition.
+     */
+    private final BitSet defined = new BitSet(ItemDefinition.SIZE);
+
+    /**
+     * The identifiers of stackable items.
+     */
+    private final BitSet stackable = new BitSet(ItemDefinition.SIZE);
+
+    /**
+     * The identifiers of tradeable items.
+     */
+    private final BitSet tradeable = new BitSet(ItemDefinition.SIZE);
+
+    /**
+     * The base values.
+     */
+    private final int[] value = new int[ItemDefinition.SIZE];
+
+    /**
+     * The weights.
+     */
+    private final double[] weight = new double[ItemDefinition.SIZE];
+
+    /**
+     * The noted identifiers, or {@code -1} if the item can't be noted.
+     */
+    private final int[] notedId = new int[ItemDefinition.SIZE];
+
+    /**
+     * The unnoted identifiers, or {@code -1} if the item isn't noted.
+     */
+    private final int[] unnotedId = new int[ItemDefinition.SIZE];
+
+    /**
+     * Creates a new {@link ItemDefinitionColumns}.
+     *
+     * @param definitions The item definitions.
+     */
+    private ItemDefinitionColumns(Iterable<ItemDefinition> definitions) {
+        for (ItemDefinition def : definitions) {
+            if (def == null) {
+                continue;
+            }
+            int id = def.getId();
+            defined.set(id);
+            stackable.set(id, def.isStackable());
+            tradeable.set(id, def.isTradeable());
+            value[id] = def.getValue();
+            weight[id] = def.getWeight();
+            notedId[id] = def.getNotedId().orElse(-1);
+            unnotedId[id] = def.getUnnotedId().orElse(-1);
+        }
+    }
+
+    /**
+     * Determines if the item with {@code id} is stackable.
+     *
+     * @param id The item identifier.
+     * @return {@code true} if the item is stackable.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static boolean isStackable(int id) {
+        return columns(id).stackable.get(id);
+    }
+
+    /**
+     * Determines if the item with {@code id} can be traded.
+     *
+     * @param id The item identifier.
+     * @return {@code true} if the item can be traded.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static boolean isTradeable(int id) {
+        return columns(id).tradeable.get(id);
+    }
+
+    /**
+     * Returns the base value of the item with {@code id}.
+     *
+     * @param id The item identifier.
+     * @return The base value.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static int getValue(int id) {
+        return columns(id).value[id];
+    }
+
+    /**
+     * Returns the weight of the item with {@code id}.
+     *
+     * @param id The item identifier.
+     * @return The weight.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static double getWeight(int id) {
+        return columns(id).weight[id];
+    }
+
+    /**
+     * Returns the noted identifier of the item with {@code id}.
+     *
+     * @param id The item identifier.
+     * @return The noted identifier, or {@code -1} if the item can't be noted.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static int getNotedId(int id) {
+        return columns(id).notedId[id];
+    }
+
+    /**
+     * Returns the unnoted identifier of the item with {@code id}.
+     *
+     * @param id The item identifier.
+     * @return The unnoted identifier, or {@code -1} if the item isn't noted.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    public static int getUnnotedId(int id) {
+        return columns(id).unnotedId[id];
+    }
+
+    /**
+     * Retrieves the columns, building them if needed, and ensures {@code id} has a definition.
+     *
+     * @param id The item identifier.
+     * @return The columns.
+     * @throws NoSuchElementException If there is no definition for {@code id}.
+     */
+    private static ItemDefinitionColumns columns(int id) {
+        ItemDefinitionColumns current = columns;
+        if (current == null) {
+            current = build();
+        }
+        if (id < 0 || !current.defined.get(id)) {
+            throw new NoSuchElementException("No definition mapped for " + id);
+        }
+        return current;
+    }
+
+    /**
+     * Builds the columns from {@link ItemDefinition#ALL}, if another thread hasn't already.
+     *
+     * @return The columns.
+     */
+    private static synchronized ItemDefinitionColumns build() {
+        if (columns == null) {
+            checkState(ItemDefinition.ALL.isLocked(), "Item definitions have not been loaded yet.");
+            columns = new ItemDefinitionColumns(ItemDefinition.ALL);
+        }
+        return columns;
+    }
+}
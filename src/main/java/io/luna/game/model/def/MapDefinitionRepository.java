@@ -6,7 +6,9 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
- * An implementation of {@link DefinitionRepository} that is backed internally by a {@link LinkedHashMap}.
+ * An implementation of {@link DefinitionRepository} that is backed internally by a {@link LinkedHashMap}. Definitions
+ * stored from a {@link DefinitionPack} are all decoded up front, as the map can't safely be modified once the
+ * repository is shared.
  */
 public final class MapDefinitionRepository<V extends Definition> extends DefinitionRepository<V> {
 
@@ -20,6 +22,14 @@ public final class MapDefinitionRepository<V extends Definition> extends Definit
         definitions.put(id, definition);
     }
 
+    @Override
+    void putAll(DefinitionPack<V> pack) {
+        for (int index = 0; index < pack.size(); index++) {
+            int id = pack.getId(index);
+            definitions.put(id, pack.decode(id));
+        }
+    }
+
     @Override
     public Optional<V> get(int id) {
         return Optional.ofNullable(definitions.get(id));
@@ -1,7 +1,13 @@
 package io.luna.game.model.def;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
+import static io.luna.game.model.def.DefinitionPack.readInts;
+import static io.luna.game.model.def.DefinitionPack.writeInts;
+
 /**
  * A definition model describing an attackable non-player.
  *
@@ -89,6 +95,45 @@ public final class NpcCombatDefinition implements Definition {
      */
     public static final DefinitionRepository<NpcCombatDefinition> ALL = new MapDefinitionRepository<>();
 
+    /**
+     * The NPC combat definition codec.
+     */
+    public static final DefinitionCodec<NpcCombatDefinition> CODEC = new DefinitionCodec<>() {
+        @Override
+        public void encode(NpcCombatDefinition definition, DataOutput out) throws IOException {
+            out.writeInt(definition.respawnTime);
+            out.writeBoolean(definition.aggressive);
+            out.writeBoolean(definition.poisonous);
+            out.writeInt(definition.level);
+            out.writeInt(definition.hitpoints);
+            out.writeInt(definition.maximumHit);
+            out.writeInt(definition.attackSpeed);
+            out.writeInt(definition.attackAnimation);
+            out.writeInt(definition.defenceAnimation);
+            out.writeInt(definition.deathAnimation);
+            writeInts(out, definition.skills);
+            writeInts(out, definition.bonuses);
+        }
+
+        @Override
+        public NpcCombatDefinition decode(int id, ByteBuffer buf) {
+            int respawnTime = buf.getInt();
+            boolean aggressive = buf.get() != 0;
+            boolean poisonous = buf.get() != 0;
+            int level = buf.getInt();
+            int hitpoints = buf.getInt();
+            int maximumHit = buf.getInt();
+            int attackSpeed = buf.getInt();
+            int attackAnimation = buf.getInt();
+            int defenceAnimation = buf.getInt();
+            int deathAnimation = buf.getInt();
+            int[] skills = readInts(buf);
+            int[] bonuses = readInts(buf);
+            return new NpcCombatDefinition(id, respawnTime, aggressive, poisonous, level, hitpoints, maximumHit,
+                    attackSpeed, attackAnimation, defenceAnimation, deathAnimation, skills, bonuses);
+        }
+    };
+
     /**
      * The identifier.
      */
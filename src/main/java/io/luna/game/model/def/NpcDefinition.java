@@ -2,6 +2,15 @@ package io.luna.game.model.def;
 
 import com.google.common.collect.ImmutableList;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static io.luna.game.model.def.DefinitionPack.readString;
+import static io.luna.game.model.def.DefinitionPack.readStrings;
+import static io.luna.game.model.def.DefinitionPack.writeString;
+import static io.luna.game.model.def.DefinitionPack.writeStrings;
+
 /**
  * A definition model describing a non-player mob.
  *
@@ -19,6 +28,43 @@ public final class NpcDefinition implements Definition {
      */
     public static final DefinitionRepository<NpcDefinition> ALL = new ArrayDefinitionRepository<>(SIZE);
 
+    /**
+     * The NPC name index.
+     */
+    public static final DefinitionNameIndex<NpcDefinition> NAMES =
+            new DefinitionNameIndex<>(ALL, NpcDefinition::getName);
+
+    /**
+     * The NPC definition codec.
+     */
+    public static final DefinitionCodec<NpcDefinition> CODEC = new DefinitionCodec<>() {
+        @Override
+        public void encode(NpcDefinition definition, DataOutput out) throws IOException {
+            writeString(out, definition.name);
+            writeString(out, definition.examine);
+            out.writeInt(definition.size);
+            out.writeInt(definition.walkAnimation);
+            out.writeInt(definition.walkBackAnimation);
+            out.writeInt(definition.walkLeftAnimation);
+            out.writeInt(definition.walkRightAnimation);
+            writeStrings(out, definition.actions);
+        }
+
+        @Override
+        public NpcDefinition decode(int id, ByteBuffer buf) {
+            String name = readString(buf);
+            String examine = readString(buf);
+            int size = buf.getInt();
+            int walkAnimation = buf.getInt();
+            int walkBackAnimation = buf.getInt();
+            int walkLeftAnimation = buf.getInt();
+            int walkRightAnimation = buf.getInt();
+            String[] actions = readStrings(buf);
+            return new NpcDefinition(id, name, examine, size, walkAnimation, walkBackAnimation, walkLeftAnimation,
+                    walkRightAnimation, actions);
+        }
+    };
+
     /**
      * The identifier.
      */
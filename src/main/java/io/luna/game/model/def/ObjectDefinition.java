@@ -2,6 +2,15 @@ package io.luna.game.model.def;
 
 import com.google.common.collect.ImmutableList;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static io.luna.game.model.def.DefinitionPack.readString;
+import static io.luna.game.model.def.DefinitionPack.readStrings;
+import static io.luna.game.model.def.DefinitionPack.writeString;
+import static io.luna.game.model.def.DefinitionPack.writeStrings;
+
 /**
  * A definition model describing in-game objects.
  *
@@ -19,6 +28,45 @@ public final class ObjectDefinition implements Definition {
      */
     public static final DefinitionRepository<ObjectDefinition> ALL = new ArrayDefinitionRepository<>(SIZE);
 
+    /**
+     * The object name index.
+     */
+    public static final DefinitionNameIndex<ObjectDefinition> NAMES =
+            new DefinitionNameIndex<>(ALL, ObjectDefinition::getName);
+
+    /**
+     * The object definition codec.
+     */
+    public static final DefinitionCodec<ObjectDefinition> CODEC = new DefinitionCodec<>() {
+        @Override
+        public void encode(ObjectDefinition definition, DataOutput out) throws IOException {
+            writeString(out, definition.name);
+            writeString(out, definition.examine);
+            out.writeInt(definition.length);
+            out.writeInt(definition.width);
+            out.writeBoolean(definition.isImpenetrable);
+            out.writeBoolean(definition.isInteractive);
+            out.writeBoolean(definition.isObstructive);
+            out.writeBoolean(definition.isSolid);
+            writeStrings(out, definition.actions);
+        }
+
+        @Override
+        public ObjectDefinition decode(int id, ByteBuffer buf) {
+            String name = readString(buf);
+            String examine = readString(buf);
+            int length = buf.getInt();
+            int width = buf.getInt();
+            boolean isImpenetrable = buf.get() != 0;
+            boolean isInteractive = buf.get() != 0;
+            boolean isObstructive = buf.get() != 0;
+            boolean isSolid = buf.get() != 0;
+            String[] actions = readStrings(buf);
+            return new ObjectDefinition(id, name, examine, length, width, isImpenetrable, isInteractive, isObstructive,
+                    isSolid, actions);
+        }
+    };
+
     /**
      * The identifier.
      */
@@ -1,13 +1,11 @@
 package io.luna.game.model.item;
 
-import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.item.RefreshListener.PlayerRefreshListener;
 import io.luna.game.model.mob.Player;
 import io.luna.game.model.mob.inter.InventoryOverlayInterface;
 import io.luna.net.msg.out.ConfigMessageWriter;
 
-import java.util.OptionalInt;
-
 /**
  * An item container model representing a player's bank.
  *
@@ -105,13 +103,14 @@ public final class Bank extends ItemContainer {
         }
 
         // Get correct item identifier and amount to deposit.
-        int id = item.getItemDef().getUnnotedId().orElse(item.getId());
+        int unnotedId = ItemDefinitionColumns.getUnnotedId(item.getId());
+        int id = unnotedId == -1 ? item.getId() : unnotedId;
         int existingAmount = inventory.computeAmountForId(item.getId());
         amount = amount > existingAmount ? existingAmount : amount;
         item = item.withAmount(amount);
 
         // Determine if enough space in bank.
-        Item depositItem = new Item(id, amount);
+        Item depositItem = Item.of(id, amount);
         if (!hasSpaceFor(depositItem)) {
             fireCapacityExceededEvent();
             return false;
@@ -152,24 +151,23 @@ public final class Bank extends ItemContainer {
         amount = amount > existingAmount ? existingAmount : amount;
 
         if (withdrawAsNote) {
-            OptionalInt notedId = item.getItemDef().getNotedId();
-            if (notedId.isPresent()) {
-                id = notedId.getAsInt();
+            int notedId = ItemDefinitionColumns.getNotedId(id);
+            if (notedId != -1) {
+                id = notedId;
             } else {
                 player.sendMessage("This item cannot be withdrawn as a note.");
             }
         }
 
         // For non-stackable items, make the amount equal to free slots left if necessary.
-        ItemDefinition withdrawItemDef = ItemDefinition.ALL.retrieve(id);
-        if (!withdrawItemDef.isStackable()) {
+        if (!ItemDefinitionColumns.isStackable(id)) {
             amount = amount > remaining ? remaining : amount;
         }
 
         // Withdraw the item.
         item = item.withAmount(amount);
         if (remove(item)) {
-            Item withdrawItem = new Item(id, amount);
+            Item withdrawItem = Item.of(id, amount);
             return inventory.add(withdrawItem);
         }
         return false;
@@ -3,6 +3,7 @@ package io.luna.game.model.item;
 import com.google.common.collect.ImmutableList;
 import io.luna.game.event.impl.EquipmentChangeEvent;
 import io.luna.game.model.def.EquipmentDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.item.RefreshListener.PlayerRefreshListener;
 import io.luna.game.model.mob.Player;
 import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
@@ -333,7 +334,7 @@ public final class Equipment extends ItemContainer {
         int amount = item.getAmount();
 
         // Increase amount for stackable items.
-        if (item.getItemDef().isStackable() &&
+        if (ItemDefinitionColumns.isStackable(item.getId()) &&
                 matches(computeIdForIndex(index), item::getId)) {
             amount += computeAmountForIndex(index);
         }
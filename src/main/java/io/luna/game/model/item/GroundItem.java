@@ -3,10 +3,12 @@ package io.luna.game.model.item;
 import com.google.common.base.MoreObjects;
 import io.luna.LunaContext;
 import io.luna.game.model.Entity;
+import io.luna.game.model.EntityState;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
 import io.luna.game.model.StationaryEntity;
 import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.mob.Player;
 import io.luna.net.msg.GameMessageWriter;
 import io.luna.net.msg.out.AddGroundItemMessageWriter;
@@ -14,7 +16,6 @@ import io.luna.net.msg.out.RemoveGroundItemMessageWriter;
 
 import java.util.Objects;
 import java.util.Optional;
-import java.util.OptionalInt;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -37,9 +38,19 @@ public class GroundItem extends StationaryEntity {
     private int amount;
 
     /**
-     * The current amount of expiration ticks.
+     * If this item expires.
      */
-    private OptionalInt expireTicks = OptionalInt.of(0);
+    private boolean expiring = true;
+
+    /**
+     * The tick that expiration timing started on.
+     */
+    private long expireStartTick;
+
+    /**
+     * The tick the latest expiration timer is due on. Any other timers for this item are stale.
+     */
+    private long expireTimerTick = -1;
 
     /**
      * Creates a new {@link GroundItem}.
@@ -55,12 +66,12 @@ public class GroundItem extends StationaryEntity {
         checkArgument(amount > 0, "Amount must be above 0.");
 
         // Non-stackable ground items are placed one by one.
-        ItemDefinition def = ItemDefinition.ALL.retrieve(id);
-        checkArgument(def.isStackable() || amount == 1,
+        checkArgument(ItemDefinitionColumns.isStackable(id) || amount == 1,
                 "Non-stackable ground items have a maximum amount of 1.");
 
         this.id = id;
         this.amount = amount;
+        expireStartTick = world.getCurrentTick();
     }
 
     @Override
@@ -119,10 +130,12 @@ public class GroundItem extends StationaryEntity {
      * @param expire The value.
      */
     public final void setExpire(boolean expire) {
-        if (expire && expireTicks.isEmpty()) {
-            expireTicks = OptionalInt.of(0);
-        } else if (!expire && expireTicks.isPresent()) {
-            expireTicks = OptionalInt.empty();
+        if (expire && !expiring) {
+            expiring = true;
+            expireStartTick = world.getCurrentTick();
+            scheduleExpiration();
+        } else if (!expire && expiring) {
+            expiring = false;
         }
     }
 
@@ -144,7 +157,8 @@ public class GroundItem extends StationaryEntity {
      */
     public final void setExpireTicks(int ticks) {
         checkState(isExpiring(), "This item does not expire.");
-        expireTicks = OptionalInt.of(ticks);
+        expireStartTick = world.getCurrentTick() - ticks;
+        scheduleExpiration();
     }
 
     /**
@@ -153,7 +167,7 @@ public class GroundItem extends StationaryEntity {
      */
     public final int getExpireTicks() {
         checkState(isExpiring(), "This item does not expire.");
-        return expireTicks.getAsInt();
+        return (int) (world.getCurrentTick() - expireStartTick);
     }
 
     /**
@@ -162,7 +176,32 @@ public class GroundItem extends StationaryEntity {
      * @return {@code true} if this item expires.
      */
     public final boolean isExpiring() {
-        return expireTicks.isPresent();
+        return expiring;
+    }
+
+    /**
+     * Sets the tick the latest expiration timer is due on.
+     *
+     * @param tick The due tick.
+     */
+    final void setExpireTimerTick(long tick) {
+        expireTimerTick = tick;
+    }
+
+    /**
+     * @return The tick the latest expiration timer is due on.
+     */
+    final long getExpireTimerTick() {
+        return expireTimerTick;
+    }
+
+    /**
+     * Reschedules expiration of this item after its expiration ticks have changed, if it's registered.
+     */
+    private void scheduleExpiration() {
+        if (state == EntityState.ACTIVE) {
+            world.getItems().scheduleExpiration(this);
+        }
     }
 
     /**
@@ -204,6 +243,6 @@ public class GroundItem extends StationaryEntity {
      * @return The item instance.
      */
     public final Item toItem() {
-        return new Item(id, amount);
+        return Item.of(id, amount);
     }
 }
\ No newline at end of file
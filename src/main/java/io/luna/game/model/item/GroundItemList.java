@@ -6,22 +6,36 @@ import io.luna.game.model.EntityState;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
 import io.luna.game.model.World;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.task.Task;
+import io.luna.util.TimerWheel;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkState;
 
 /**
  * An {@link EntityList} implementation model for {@link GroundItem}s.
+ * <p>
+ * Ground items are indexed by tile, so finding the items on a tile or checking its space doesn't require searching
+ * the entire chunk. Expiration is driven by a {@link TimerWheel} keyed by the tick each item expires on, so the cost
+ * of each tick is proportional to the items expiring rather than the items that exist.
+ * <p>
+ * Registered items are queued in their chunk and shown once per tick, so that each player receives a single
+ * placement message for all the items dropped on a tile within that tick.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -32,21 +46,6 @@ public final class GroundItemList extends EntityList<GroundItem> {
      */
     private final class ExpirationTask extends Task {
 
-        /**
-         * The amount of ticks it takes for a tradeable item to become global.
-         */
-        private static final int TRADEABLE_LOCAL_TICKS = 100;
-
-        /**
-         * The amount of ticks it takes for an untradeable item to expire.
-         */
-        private static final int UNTRADEABLE_LOCAL_TICKS = 300;
-
-        /**
-         * The amount of ticks it takes for a global item to expire.
-         */
-        private static final int GLOBAL_TICKS = 300;
-
         /**
          * Creates a new {@link ExpirationTask}.
          */
@@ -73,36 +72,37 @@ public final class GroundItemList extends EntityList<GroundItem> {
 
         @Override
         protected void execute() {
-            processItems();
+            expirations.advance(world.getCurrentTick(), this::processItem);
             processUnregistrations();
             processRegistrations();
         }
 
         /**
-         * Process expiration timers for all perishable items.
+         * Process the expiration timer of an item that might be due. Timers of items that were unregistered or stopped
+         * expiring are discarded, as are timers replaced by a later call to {@link #scheduleExpiration(GroundItem)}.
+         *
+         * @param item The item.
          */
-        private void processItems() {
-            for (var item : world.getItems()) {
-                if (!item.isExpiring()) {
-                    continue;
-                }
-                boolean isTradeable = item.def().isTradeable();
-                int expireTicks = item.addExpireTick();
-                if (item.isLocal()) {
-                    if (isTradeable && expireTicks >= TRADEABLE_LOCAL_TICKS) {
-                        // Item is tradeable and only visible to one player, make it global.
-                        var globalItem = new GroundItem(item.getContext(), item.getId(), item.getAmount(),
-                                item.getPosition(), Optional.empty());
-                        unregisterQueue.add(item);
-                        registerQueue.add(globalItem);
-                    } else if (!isTradeable && expireTicks >= UNTRADEABLE_LOCAL_TICKS) {
-                        // Item is untradeable and only visible to one player, unregister it.
-                        unregisterQueue.add(item);
-                    }
-                } else if (item.isGlobal() && expireTicks >= GLOBAL_TICKS) {
-                    // Item is visible to everyone, unregister it.
-                    unregisterQueue.add(item);
-                }
+        private void processItem(GroundItem item) {
+            if (item.getState() != EntityState.ACTIVE || !item.isExpiring() ||
+                    item.getExpireTimerTick() != expirations.getCurrentTick()) {
+                return;
+            }
+            if (computeExpireTick(item) > world.getCurrentTick()) {
+                scheduleExpiration(item);
+                return;
+            }
+            item.setExpireTimerTick(-1);
+
+            if (item.isLocal() && ItemDefinitionColumns.isTradeable(item.getId())) {
+                // Item is tradeable and only visible to one player, make it global.
+                var globalItem = new GroundItem(item.getContext(), item.getId(), item.getAmount(),
+                        item.getPosition(), Optional.empty());
+                unregisterQueue.add(item);
+                registerQueue.add(globalItem);
+            } else {
+                // Item is untradeable and only visible to one player, or visible to everyone. Unregister it.
+                unregisterQueue.add(item);
             }
         }
 
@@ -133,10 +133,35 @@ public final class GroundItemList extends EntityList<GroundItem> {
         }
     }
 
+    /**
+     * The amount of ticks it takes for a tradeable item to become global.
+     */
+    private static final int TRADEABLE_LOCAL_TICKS = 100;
+
+    /**
+     * The amount of ticks it takes for an untradeable item to expire.
+     */
+    private static final int UNTRADEABLE_LOCAL_TICKS = 300;
+
+    /**
+     * The amount of ticks it takes for a global item to expire.
+     */
+    private static final int GLOBAL_TICKS = 300;
+
     /**
      * The ground items.
      */
-    private final List<GroundItem> items = new ArrayList<>(128);
+    private final Set<GroundItem> items = new LinkedHashSet<>(128);
+
+    /**
+     * The ground items on each tile.
+     */
+    private final Map<Position, List<GroundItem>> tiles = new HashMap<>();
+
+    /**
+     * The expiration timers of ground items, keyed by the tick they expire on.
+     */
+    private final TimerWheel<GroundItem> expirations;
 
     /**
      * If the expiration task was started.
@@ -150,6 +175,7 @@ public final class GroundItemList extends EntityList<GroundItem> {
      */
     public GroundItemList(World world) {
         super(world, EntityType.ITEM);
+        expirations = new TimerWheel<>(512, 0); // Constructed with the world, before the first tick.
     }
 
     /**
@@ -196,6 +222,35 @@ public final class GroundItemList extends EntityList<GroundItem> {
         world.schedule(new ExpirationTask());
     }
 
+    /**
+     * Schedules the expiration timer of {@code item}, replacing any timer it already has. This only needs to be
+     * invoked when the expiration ticks of a registered item change.
+     *
+     * @param item The item.
+     */
+    void scheduleExpiration(GroundItem item) {
+        if (item.isExpiring()) {
+            item.setExpireTimerTick(expirations.schedule(item, computeExpireTick(item)));
+        }
+    }
+
+    /**
+     * Computes the tick that {@code item} expires on.
+     *
+     * @param item The item.
+     * @return The expiration tick.
+     */
+    private long computeExpireTick(GroundItem item) {
+        int expireTicks;
+        if (item.isLocal()) {
+            boolean isTradeable = ItemDefinitionColumns.isTradeable(item.getId());
+            expireTicks = isTradeable ? TRADEABLE_LOCAL_TICKS : UNTRADEABLE_LOCAL_TICKS;
+        } else {
+            expireTicks = GLOBAL_TICKS;
+        }
+        return world.getCurrentTick() - item.getExpireTicks() + expireTicks;
+    }
+
     /**
      * Adds a stackable ground item.
      *
@@ -283,15 +338,11 @@ public final class GroundItemList extends EntityList<GroundItem> {
             return findExisting(item).map(this::removeFromSet).orElse(true);
         }
         boolean failed = true;
-        var iter = findAllExisting(item).iterator();
-        while (iter.hasNext()) {
-            var nextItem = iter.next();
+        List<GroundItem> removeItems = findAllExisting(item).limit(loops).collect(Collectors.toList());
+        for (GroundItem nextItem : removeItems) {
             if (removeFromSet(nextItem)) {
                 failed = false;
             }
-            if (--loops <= 0) {
-                break;
-            }
         }
         return !failed;
     }
@@ -304,20 +355,23 @@ public final class GroundItemList extends EntityList<GroundItem> {
      * @return {@code true} if this tile has enough space.
      */
     private boolean tileSpaceFor(Position position, int addAmount) {
-        return world.getChunks().load(position).stream(type).
-                filter(it -> it.getPosition().equals(position)).count() + addAmount <= 255;
+        List<GroundItem> tileItems = tiles.get(position);
+        int tileCount = tileItems == null ? 0 : tileItems.size();
+        return tileCount + addAmount <= 255;
     }
 
     /**
-     * Adds {@code item} to the backing set and makes it visible.
+     * Adds {@code item} to the backing set, and queues it to be made visible at the end of this tick.
      *
      * @param item The item to add.
      * @return {@code true} if successful.
      */
     private boolean addToSet(GroundItem item) {
         if (items.add(item)) {
+            tiles.computeIfAbsent(item.getPosition(), key -> new ArrayList<>(2)).add(item);
             item.setState(EntityState.ACTIVE);
             item.show();
+            scheduleExpiration(item);
             return true;
         }
         return false;
@@ -331,6 +385,11 @@ public final class GroundItemList extends EntityList<GroundItem> {
      */
     private boolean removeFromSet(GroundItem item) {
         if (items.remove(item)) {
+            List<GroundItem> tileItems = tiles.get(item.getPosition());
+            tileItems.remove(item);
+            if (tileItems.isEmpty()) {
+                tiles.remove(item.getPosition());
+            }
             item.hide();
             item.setState(EntityState.INACTIVE);
             return true;
@@ -345,12 +404,11 @@ public final class GroundItemList extends EntityList<GroundItem> {
      * @return The found items.
      */
     private Stream<GroundItem> findAllExisting(GroundItem item) {
-        Position position = item.getPosition();
-        Stream<GroundItem> localItems = world.getChunks().
-                load(position).
-                stream(type);
-        return localItems.filter(it -> it.getId() == item.getId() &&
-                it.getPosition().equals(position) &&
+        List<GroundItem> tileItems = tiles.get(item.getPosition());
+        if (tileItems == null) {
+            return Stream.empty();
+        }
+        return tileItems.stream().filter(it -> it.getId() == item.getId() &&
                 it.getOwner().equals(item.getOwner()));
     }
 
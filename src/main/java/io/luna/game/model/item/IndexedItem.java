@@ -72,7 +72,7 @@ public final class IndexedItem {
      * @return The converted indexed item.
      */
     public Item toItem() {
-        return new Item(id, amount);
+        return Item.of(id, amount);
     }
 
     /**
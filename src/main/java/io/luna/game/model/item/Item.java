@@ -4,17 +4,79 @@ import com.google.common.base.MoreObjects;
 import io.luna.game.model.def.EquipmentDefinition;
 import io.luna.game.model.def.ItemDefinition;
 
-import java.util.Objects;
-
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * A model representing a single item.
+ * <p>
+ * Items are immutable, so instances with small amounts are shared. {@link #of(int, int)} and every function that
+ * derives a new item from an existing one return these shared instances where possible, and only the public
+ * constructors always allocate. Derived items skip identifier validation, because it was already done when the
+ * original item was created.
  *
  * @author lare96 <http://github.org/lare96>
  */
 public final class Item {
 
+    /**
+     * The largest amount shared instances are kept for.
+     */
+    private static final int CACHED_AMOUNTS = 16;
+
+    /**
+     * The shared instances, indexed by identifier and then by {@code amount - 1}. Each row is created the first time
+     * it's needed. Races between threads may create an instance twice, which is harmless because items are immutable.
+     */
+    private static final Item[][] CACHE = new Item[ItemDefinition.SIZE][];
+
+    /**
+     * Retrieves an item, returning a shared instance if one is kept for {@code amount}.
+     *
+     * @param id The identifier.
+     * @param amount The amount.
+     * @return The item.
+     */
+    public static Item of(int id, int amount) {
+        checkArgument(ItemDefinition.isIdValid(id), "id [" + id + "] out of range");
+        return derive(id, amount);
+    }
+
+    /**
+     * Retrieves an item with an amount of {@code 1}.
+     *
+     * @param id The identifier.
+     * @return The item.
+     */
+    public static Item of(int id) {
+        return of(id, 1);
+    }
+
+    /**
+     * Retrieves an item with an identifier that has already been validated, returning a shared instance if one is kept
+     * for {@code amount}.
+     *
+     * @param id The identifier.
+     * @param amount The amount.
+     * @return The item.
+     */
+    private static Item derive(int id, int amount) {
+        if (amount < 1 || amount > CACHED_AMOUNTS) {
+            checkArgument(amount >= 0, "amount <= 0");
+            return new Item(id, amount, false);
+        }
+        Item[] row = CACHE[id];
+        if (row == null) {
+            row = new Item[CACHED_AMOUNTS];
+            CACHE[id] = row;
+        }
+        Item item = row[amount - 1];
+        if (item == null) {
+            item = new Item(id, amount, false);
+            row[amount - 1] = item;
+        }
+        return item;
+    }
+
     /**
      * The identifier.
      */
@@ -32,8 +94,21 @@ public final class Item {
      * @param amount The amount.
      */
     public Item(int id, int amount) {
-        checkArgument(ItemDefinition.isIdValid(id), "id [" + id + "] out of range");
-        checkArgument(amount >= 0, "amount <= 0");
+        this(id, amount, true);
+    }
+
+    /**
+     * Creates a new {@link Item}.
+     *
+     * @param id The identifier.
+     * @param amount The amount.
+     * @param validate If the identifier and amount should be validated.
+     */
+    private Item(int id, int amount, boolean validate) {
+        if (validate) {
+            checkArgument(ItemDefinition.isIdValid(id), "id [" + id + "] out of range");
+            checkArgument(amount >= 0, "amount <= 0");
+        }
 
         this.id = id;
         this.amount = amount;
@@ -59,7 +134,7 @@ public final class Item {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, amount);
+        return 31 * id + amount;
     }
 
     @Override
@@ -106,7 +181,7 @@ public final class Item {
         if (id == newId) {
             return this;
         }
-        return new Item(newId, amount);
+        return of(newId, amount);
     }
 
     /**
@@ -131,7 +206,7 @@ public final class Item {
         if(newAmount < 0) {
             newAmount = positive ? Integer.MAX_VALUE : 0;
         }
-        return new Item(id, newAmount);
+        return newAmount == amount ? this : derive(id, newAmount);
     }
 
     /**
@@ -144,7 +219,7 @@ public final class Item {
         if (amount == newAmount) {
             return this;
         }
-        return new Item(id, newAmount);
+        return derive(id, newAmount);
     }
 
     /**
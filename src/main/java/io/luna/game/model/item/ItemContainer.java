@@ -3,13 +3,14 @@ package io.luna.game.model.item;
 import com.google.common.collect.ImmutableList;
 import com.google.common.math.IntMath;
 import com.google.common.primitives.Ints;
-import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.mob.Player;
 import io.luna.net.msg.out.WidgetItemsMessageWriter;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -28,13 +29,15 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static io.luna.game.model.item.ItemContainer.StackPolicy.ALWAYS;
 import static io.luna.game.model.item.ItemContainer.StackPolicy.STANDARD;
-import static io.luna.util.OptionalUtils.mapToInt;
-import static io.luna.util.OptionalUtils.matches;
 import static java.util.Objects.requireNonNull;
 
 /**
  * A model representing a traversable group of items whose container adheres to a strict set of rules. These
  * rules dictate how items are stored and displayed.
+ * <p>
+ * Alongside the items themselves, containers keep their identifiers and amounts in parallel primitive arrays, a set of
+ * occupied indexes, and an {@link ItemSlotIndex} from identifiers to indexes. Finding an item, a free index, or the
+ * amount of an item therefore doesn't require scanning the container, which matters for large containers like banks.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -112,7 +115,27 @@ public class ItemContainer implements Iterable<Item> {
     /**
      * The items.
      */
-    private Item[] items;
+    private final Item[] items;
+
+    /**
+     * The identifier on each index, or {@code -1} if the index is empty.
+     */
+    private final int[] ids;
+
+    /**
+     * The amount on each index.
+     */
+    private final int[] amounts;
+
+    /**
+     * The occupied indexes.
+     */
+    private final BitSet occupiedIndexes;
+
+    /**
+     * The index of identifiers to the indexes they occupy.
+     */
+    private final ItemSlotIndex slotIndex;
 
     /**
      * The size.
@@ -160,6 +183,11 @@ public class ItemContainer implements Iterable<Item> {
         this.policy = policy;
         this.primaryRefreshId = primaryRefreshId;
         items = new Item[capacity];
+        ids = new int[capacity];
+        amounts = new int[capacity];
+        occupiedIndexes = new BitSet(capacity);
+        slotIndex = new ItemSlotIndex(capacity);
+        Arrays.fill(ids, -1);
     }
 
     /**
@@ -240,8 +268,8 @@ public class ItemContainer implements Iterable<Item> {
                 for (int added = 0; added < until; added++) {
                     if (occupied(addIndex)) {
                         // Calculate next free index if needed.
-                        addIndex = nextFreeIndex().orElseThrow(() ->
-                                new IllegalStateException("The 'size' field is inaccurate."));
+                        addIndex = nextFree();
+                        checkState(addIndex != -1, "The 'size' field is inaccurate.");
                     }
 
                     // Set non-stackable item.
@@ -352,13 +380,13 @@ public class ItemContainer implements Iterable<Item> {
     private int computeAddIndex(int preferredIndex, Item item) {
         int index = preferredIndex;
         if (isStackable(item)) {
-            index = computeIndexForId(item.getId()).orElse(-1);
+            index = indexOf(item.getId());
         } else if (index != -1) {
             index = occupied(index) ? -1 : index;
         }
 
         if (index == -1) {
-            return nextFreeIndex().orElse(-1);
+            return nextFree();
         }
         return index;
     }
@@ -400,10 +428,9 @@ public class ItemContainer implements Iterable<Item> {
             try {
                 for (int removed = 0; removed < until; removed++) {
 
-                    // TODO compute next index from index...
-                    // Calculate next free index if needed.
-                    boolean isItemPresent = computeIdForIndex(removeIndex).orElse(-1) == item.getId();
-                    removeIndex = isItemPresent ? removeIndex : computeIndexForId(item.getId()).orElse(-1);
+                    // Calculate next index if needed.
+                    boolean isItemPresent = removeIndex < capacity && ids[removeIndex] == item.getId();
+                    removeIndex = isItemPresent ? removeIndex : indexOf(item.getId());
 
                     // Can't remove anymore.
                     if (removeIndex == -1) {
@@ -437,7 +464,7 @@ public class ItemContainer implements Iterable<Item> {
      * @return {@code true} if successful.
      */
     public boolean remove(int id) {
-        return remove(-1, new Item(id));
+        return remove(-1, Item.of(id));
     }
 
     /**
@@ -488,9 +515,9 @@ public class ItemContainer implements Iterable<Item> {
      */
     private int computeRemoveIndex(int preferredIndex, Item item) {
         if (preferredIndex == -1 || !occupied(preferredIndex)) {
-            return computeIndexForId(item.getId()).orElse(-1);
+            return indexOf(item.getId());
         }
-        if (item.getId() == get(preferredIndex).getId()) {
+        if (item.getId() == ids[preferredIndex]) {
             return preferredIndex;
         }
         return -1;
@@ -502,12 +529,18 @@ public class ItemContainer implements Iterable<Item> {
      * @return The next free index, wrapped in an optional.
      */
     public final OptionalInt nextFreeIndex() {
-        for (int index = 0; index < capacity; index++) {
-            if (!occupied(index)) {
-                return OptionalInt.of(index);
-            }
-        }
-        return OptionalInt.empty();
+        int index = nextFree();
+        return index == -1 ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    /**
+     * Computes the next free index.
+     *
+     * @return The next free index, or {@code -1} if this container is full.
+     */
+    private int nextFree() {
+        int index = occupiedIndexes.nextClearBit(0);
+        return index < capacity ? index : -1;
     }
 
     /**
@@ -517,12 +550,35 @@ public class ItemContainer implements Iterable<Item> {
      * @return The index of {@code id}, wrapped in an optional.
      */
     public final OptionalInt computeIndexForId(int id) {
+        int index = indexOf(id);
+        return index == -1 ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    /**
+     * Computes the first index that {@code id} is found in.
+     *
+     * @param id The identifier to search for.
+     * @return The index of {@code id}, or {@code -1} if it isn't present.
+     */
+    private int indexOf(int id) {
+        int index = slotIndex.slot(id);
+        return index == -2 ? scanIndexOf(id, -1) : index;
+    }
+
+    /**
+     * Scans for the first index that {@code id} is found in. Used when {@code id} occupies multiple indexes.
+     *
+     * @param id The identifier to search for.
+     * @param excludedIndex An index to skip, or {@code -1}.
+     * @return The index of {@code id}, or {@code -1} if it isn't present.
+     */
+    private int scanIndexOf(int id, int excludedIndex) {
         for (int index = 0; index < capacity; index++) {
-            if (matches(computeIdForIndex(index), id)) {
-                return OptionalInt.of(index);
+            if (ids[index] == id && index != excludedIndex) {
+                return index;
             }
         }
-        return OptionalInt.empty();
+        return -1;
     }
 
     /**
@@ -532,16 +588,19 @@ public class ItemContainer implements Iterable<Item> {
      * @return The total amount of items with {@code id}.
      */
     public final int computeAmountForId(int id) {
-        boolean isStackable = isStackable(id);
+        int singleIndex = slotIndex.slot(id);
+        if (singleIndex == -1) {
+            return 0;
+        } else if (singleIndex != -2) {
+            return amounts[singleIndex];
+        } else if (isStackable(id)) {
+            return amounts[scanIndexOf(id, -1)];
+        }
+
         int currentAmount = 0;
         for (int index = 0; index < capacity; index++) {
-            Item item = get(index);
-            if (item != null && item.getId() == id) {
-                if (isStackable) {
-                    return item.getAmount();
-                } else {
-                    currentAmount += item.getAmount();
-                }
+            if (ids[index] == id) {
+                currentAmount += amounts[index];
             }
         }
         return currentAmount;
@@ -554,7 +613,8 @@ public class ItemContainer implements Iterable<Item> {
      * @return The identifier at {@code index}, wrapped in an optional.
      */
     public final OptionalInt computeIdForIndex(int index) {
-        return mapToInt(nonNullGet(index), Item::getId);
+        int id = ids[index];
+        return id == -1 ? OptionalInt.empty() : OptionalInt.of(id);
     }
 
     /**
@@ -564,7 +624,7 @@ public class ItemContainer implements Iterable<Item> {
      * @return The amount at {@code index}.
      */
     public final int computeAmountForIndex(int index) {
-        return nonNullGet(index).map(Item::getAmount).orElse(0);
+        return amounts[index];
     }
 
     /**
@@ -595,13 +655,10 @@ public class ItemContainer implements Iterable<Item> {
     public final boolean replace(int oldId, int newId) {
         checkArgument(!isStackable(oldId) && !isStackable(newId), "Cannot replace stackable items.");
 
-        for (int index = 0; index < capacity; index++) {
-            Item item = get(index);
-            if (item != null && item.getId() == oldId) {
-                Item newItem = item.withId(newId);
-                set(index, newItem);
-                return true;
-            }
+        int index = indexOf(oldId);
+        if (index != -1) {
+            set(index, get(index).withId(newId));
+            return true;
         }
         return false;
     }
@@ -711,11 +768,11 @@ public class ItemContainer implements Iterable<Item> {
     public final int computeSpaceFor(Item item) {
         if (isStackable(item)) {
             // See if there's an index for the item.
-            int index = computeIndexForId(item.getId()).orElse(-1);
+            int index = indexOf(item.getId());
             if (index == -1) {
                 // There isn't, we require a space.
                 return 1;
-            } else if (get(index).getAmount() + item.getAmount() < 0) {
+            } else if (amounts[index] + item.getAmount() < 0) {
                 // There is, and trying to add onto it will result in an overflow.
                 // TODO Maybe add an event for overflow?
                 return Integer.MAX_VALUE;
@@ -757,7 +814,7 @@ public class ItemContainer implements Iterable<Item> {
      * @return {@code true} if {@code id} is present in this container.
      */
     public final boolean contains(int id) {
-        return computeIndexForId(id).isPresent();
+        return slotIndex.count(id) > 0;
     }
 
     /**
@@ -896,7 +953,7 @@ public class ItemContainer implements Iterable<Item> {
      * @return {@code true} if items with the identifier will stack.
      */
     public final boolean isStackable(int id) {
-        return policy == STANDARD && ItemDefinition.ALL.retrieve(id).isStackable() || policy == ALWAYS;
+        return policy == STANDARD && ItemDefinitionColumns.isStackable(id) || policy == ALWAYS;
     }
 
     /**
@@ -986,7 +1043,7 @@ public class ItemContainer implements Iterable<Item> {
         checkState(size == 0 && !initialized, "Containers can only be initialized once.");
 
         for (IndexedItem item : setItems) {
-            items[item.getIndex()] = item.toItem();
+            store(item.getIndex(), item.toItem());
             size++;
         }
         fireInitEvent();
@@ -1034,11 +1091,41 @@ public class ItemContainer implements Iterable<Item> {
         }
 
         Item oldItem = get(index);
-        items[index] = item;
+        store(index, item);
 
         fireUpdateEvent(index, oldItem, item);
     }
 
+    /**
+     * Stores {@code item} on {@code index}, keeping the identifier and amount arrays, occupied indexes, and slot index
+     * in sync with the backing array. Every change to the backing array must go through this function.
+     *
+     * @param index The index to store on.
+     * @param item The item to store, possibly {@code null}.
+     */
+    private void store(int index, Item item) {
+        int oldId = ids[index];
+        int newId = item == null ? -1 : item.getId();
+        if (oldId != newId) {
+            if (oldId != -1) {
+                slotIndex.remove(oldId, index, this::scanIndexOf);
+            }
+            if (newId != -1) {
+                slotIndex.add(newId, index);
+            }
+        }
+
+        items[index] = item;
+        ids[index] = newId;
+        if (item == null) {
+            amounts[index] = 0;
+            occupiedIndexes.clear(index);
+        } else {
+            amounts[index] = item.getAmount();
+            occupiedIndexes.set(index);
+        }
+    }
+
     /**
      * Retrieves the item at {@code index}, wrapping the result in an optional.
      *
@@ -1065,7 +1152,7 @@ public class ItemContainer implements Iterable<Item> {
      * @return {@code true} if {@code index} is occupied.
      */
     public final boolean occupied(int index) {
-        return nonNullGet(index).isPresent();
+        return items[index] != null;
     }
 
     /**
@@ -0,0 +1,181 @@
+package io.luna.game.model.item;
+
+import java.util.Arrays;
+
+/**
+ * A primitive hash index mapping item identifiers to the slots they occupy within an {@link ItemContainer}. Each
+ * identifier tracks how many slots it occupies, and the slot itself while it only occupies one; this is always the
+ * case for stackable items, so their slot can be found without scanning the container.
+ * <p>
+ * A container can't hold more distinct identifiers than it has slots, so the table is sized once and never needs to
+ * grow. Collisions are resolved by linear probing, with backward shift deletion.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ItemSlotIndex {
+
+    /**
+     * The key of an empty table entry.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The identifiers.
+     */
+    private final int[] keys;
+
+    /**
+     * The slot occupied by each identifier, valid only while its count is {@code 1}.
+     */
+    private final int[] slots;
+
+    /**
+     * The amount of slots occupied by each identifier.
+     */
+    private final int[] counts;
+
+    /**
+     * The mask used to wrap table positions.
+     */
+    private final int mask;
+
+    /**
+     * Creates a new {@link ItemSlotIndex}.
+     *
+     * @param capacity The capacity of the container.
+     */
+    ItemSlotIndex(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+        keys = new int[tableSize];
+        slots = new int[tableSize];
+        counts = new int[tableSize];
+        mask = tableSize - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Records that {@code id} now occupies {@code slot}.
+     *
+     * @param id The identifier.
+     * @param slot The slot.
+     */
+    void add(int id, int slot) {
+        int position = find(id);
+        if (keys[position] == EMPTY) {
+            keys[position] = id;
+            slots[position] = slot;
+            counts[position] = 1;
+        } else {
+            counts[position]++;
+        }
+    }
+
+    /**
+     * Records that {@code id} no longer occupies {@code slot}.
+     *
+     * @param id The identifier.
+     * @param slot The slot.
+     * @param remainingSlot The function that finds another slot {@code id} occupies, used when it will only occupy
+     * one slot after this removal.
+     */
+    void remove(int id, int slot, SlotFinder remainingSlot) {
+        int position = find(id);
+        if (keys[position] == EMPTY) {
+            return;
+        }
+        int count = --counts[position];
+        if (count == 0) {
+            delete(position);
+        } else if (count == 1) {
+            slots[position] = remainingSlot.find(id, slot);
+        }
+    }
+
+    /**
+     * Returns the slot occupied by {@code id}, if it occupies exactly one.
+     *
+     * @param id The identifier.
+     * @return The slot, {@code -1} if {@code id} isn't present, or {@code -2} if it occupies more than one slot.
+     */
+    int slot(int id) {
+        int position = find(id);
+        if (keys[position] == EMPTY) {
+            return -1;
+        }
+        return counts[position] == 1 ? slots[position] : -2;
+    }
+
+    /**
+     * Returns the amount of slots occupied by {@code id}.
+     *
+     * @param id The identifier.
+     * @return The amount of slots.
+     */
+    int count(int id) {
+        int position = find(id);
+        return keys[position] == EMPTY ? 0 : counts[position];
+    }
+
+    /**
+     * Finds the table position of {@code id}, or the empty position where it would be inserted.
+     *
+     * @param id The identifier.
+     * @return The position.
+     */
+    private int find(int id) {
+        int position = hash(id) & mask;
+        while (keys[position] != EMPTY && keys[position] != id) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    /**
+     * Deletes the entry at {@code position}, shifting back any entries that probed past it.
+     *
+     * @param position The position.
+     */
+    private void delete(int position) {
+        int gap = position;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry into the gap if its home position doesn't lie cyclically within (gap, next].
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                slots[gap] = slots[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+
+    /**
+     * Spreads the bits of an identifier.
+     *
+     * @param id The identifier.
+     * @return The hash.
+     */
+    private static int hash(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A function that finds another slot occupied by an identifier.
+     */
+    @FunctionalInterface
+    interface SlotFinder {
+
+        /**
+         * Finds a slot occupied by {@code id}, other than {@code excludedSlot}.
+         *
+         * @param id The identifier.
+         * @param excludedSlot The slot to exclude.
+         * @return The slot.
+         */
+        int find(int id, int excludedSlot);
+    }
+}
@@ -1,16 +1,25 @@
 package io.luna.game.model.item;
 
+import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
+import io.luna.net.msg.GameMessageWriter;
 import io.luna.net.msg.out.WidgetIndexedItemsMessageWriter;
+import io.luna.net.msg.out.WidgetItemsMessageWriter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.IntFunction;
 
 /**
  * A listener that tracks indexes that need to be refreshed and forwards the resulting display update
  * messages to listener functions.
+ * <p>
+ * Changed indexes are only marked as dirty, and are sent once per tick by {@link World}. Several changes to the same
+ * index within a tick therefore result in a single update that always reflects the latest item. The dirty indexes are
+ * sent as indexed updates, unless resending the entire container would be smaller.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -40,13 +49,13 @@ public abstract class RefreshListener implements ItemContainerListener {
          * @param capacityMessage The message sent when capacity is exceeded.
          */
         public PlayerRefreshListener(Player player, String capacityMessage) {
+            super(player.getWorld());
             this.player = player;
             this.capacityMessage = capacityMessage;
         }
 
         @Override
-        public void displayUpdate(ItemContainer items, List<IndexedItem> updateItems,
-                                  WidgetIndexedItemsMessageWriter msg) {
+        public void displayUpdate(ItemContainer items, List<IndexedItem> updateItems, GameMessageWriter msg) {
             player.queue(msg);
         }
 
@@ -57,47 +66,137 @@ public abstract class RefreshListener implements ItemContainerListener {
     }
 
     /**
-     * A queue of refresh updates.
+     * The size of the {@link WidgetItemsMessageWriter} header, in bytes.
      */
-    private final List<IndexedItem> refreshUpdates = new ArrayList<>();
+    private static final int FULL_HEADER_COST = 4;
 
-    @Override
-    public final void onSingleUpdate(int index, ItemContainer items, Optional<Item> oldItem, Optional<Item> newItem) {
-        List<IndexedItem> updateItem = List.of(getItem(index, newItem));
-        sendMsg(items, updateItem);
+    /**
+     * The size of the {@link WidgetIndexedItemsMessageWriter} header, in bytes.
+     */
+    private static final int INDEXED_HEADER_COST = 2;
+
+    /**
+     * The world.
+     */
+    private final World world;
+
+    /**
+     * The indexes changed since the last flush.
+     */
+    private final BitSet dirtyIndexes = new BitSet();
+
+    /**
+     * The container the dirty indexes belong to.
+     */
+    private ItemContainer dirtyContainer;
+
+    /**
+     * Creates a new {@link RefreshListener}.
+     *
+     * @param world The world.
+     */
+    public RefreshListener(World world) {
+        this.world = world;
     }
 
     @Override
-    public final void onBulkUpdate(int index, ItemContainer items, Optional<Item> oldItem, Optional<Item> newItem) {
-        refreshUpdates.add(getItem(index, newItem));
+    public final void onSingleUpdate(int index, ItemContainer items, Optional<Item> oldItem, Optional<Item> newItem) {
+        markDirty(index, items);
     }
 
     @Override
-    public final void onBulkUpdateCompleted(ItemContainer items) {
-        sendMsg(items, refreshUpdates);
-        refreshUpdates.clear();
+    public final void onBulkUpdate(int index, ItemContainer items, Optional<Item> oldItem, Optional<Item> newItem) {
+        markDirty(index, items);
     }
 
     /**
      * A function invoked when a display update message has been created and needs to be sent.
      *
      * @param items The item container.
-     * @param updateItems The items that the message was created for.
+     * @param updateItems The items that the message was created for. Contains every index, including empty ones,
+     * when the message resends the entire container.
      * @param msg The display update message.
      */
-    public abstract void displayUpdate(ItemContainer items, List<IndexedItem> updateItems,
-                                       WidgetIndexedItemsMessageWriter msg);
+    public abstract void displayUpdate(ItemContainer items, List<IndexedItem> updateItems, GameMessageWriter msg);
+
+    /**
+     * Sends display updates for every index changed since the last flush. Invoked by {@link World} once per tick.
+     */
+    public final void flush() {
+        ItemContainer items = dirtyContainer;
+        dirtyContainer = null;
+        if (items == null || dirtyIndexes.isEmpty()) {
+            return;
+        }
+
+        // Compare the sizes of both messages. The full message can't be smaller than 3 bytes per index, so the exact
+        // size is only computed when the indexed message is larger than that.
+        int indexedCost = INDEXED_HEADER_COST;
+        for (int index = dirtyIndexes.nextSetBit(0); index >= 0; index = dirtyIndexes.nextSetBit(index + 1)) {
+            indexedCost += (index <= 127 ? 1 : 2) + 2 + amountCost(items.computeAmountForIndex(index));
+        }
+        boolean sendFull = false;
+        if (indexedCost > FULL_HEADER_COST + items.capacity() * 3) {
+            int fullCost = FULL_HEADER_COST;
+            for (int index = 0; index < items.capacity(); index++) {
+                fullCost += 2 + amountCost(items.computeAmountForIndex(index));
+            }
+            sendFull = fullCost < indexedCost;
+        }
+
+        // Clear the indexes before sending, as they can be dirtied again by the display update.
+        if (sendFull) {
+            List<IndexedItem> updateItems = new ArrayList<>(items.capacity());
+            for (int index = 0; index < items.capacity(); index++) {
+                updateItems.add(getItem(index, items));
+            }
+            Item[] itemArray = items.toArray();
+            dirtyIndexes.clear();
+            sendMsg(items, updateItems, id -> new WidgetItemsMessageWriter(id, itemArray));
+        } else {
+            List<IndexedItem> updateItems = new ArrayList<>(dirtyIndexes.cardinality());
+            for (int index = dirtyIndexes.nextSetBit(0); index >= 0; index = dirtyIndexes.nextSetBit(index + 1)) {
+                updateItems.add(getItem(index, items));
+            }
+            dirtyIndexes.clear();
+            sendMsg(items, updateItems, id -> new WidgetIndexedItemsMessageWriter(id, updateItems));
+        }
+    }
+
+    /**
+     * Marks {@code index} as changed, and queues this listener to be flushed if it isn't already.
+     *
+     * @param index The index.
+     * @param items The item container.
+     */
+    private void markDirty(int index, ItemContainer items) {
+        dirtyIndexes.set(index);
+        if (dirtyContainer == null) {
+            dirtyContainer = items;
+            world.queueRefresh(this);
+        }
+    }
 
     /**
-     * Converts {@code item} into an item with an index.
+     * Computes the size of an amount within a display update message.
+     *
+     * @param amount The amount.
+     * @return The size, in bytes.
+     */
+    private static int amountCost(int amount) {
+        return amount >= 255 ? 5 : 1;
+    }
+
+    /**
+     * Retrieves the item on {@code index} as an indexed item.
      *
      * @param index The index.
-     * @param item The item to convert.
+     * @param items The item container.
      * @return The indexed item.
      */
-    private IndexedItem getItem(int index, Optional<Item> item) {
-        return item.map(it -> new IndexedItem(index, it)).
-                orElse(new IndexedItem(index, -1, 0));
+    private IndexedItem getItem(int index, ItemContainer items) {
+        Item item = items.get(index);
+        return item == null ? new IndexedItem(index, -1, 0) : new IndexedItem(index, item);
     }
 
     /**
@@ -105,16 +204,15 @@ public abstract class RefreshListener implements ItemContainerListener {
      *
      * @param items The underlying container.
      * @param updateItems The items to create messages for.
+     * @param msgFunction The function that creates a message for a widget identifier.
      */
-    private void sendMsg(ItemContainer items, List<IndexedItem> updateItems) {
-        displayUpdate(items, updateItems,
-                new WidgetIndexedItemsMessageWriter(items.getPrimaryRefresh(), updateItems));
+    private void sendMsg(ItemContainer items, List<IndexedItem> updateItems,
+                         IntFunction<GameMessageWriter> msgFunction) {
+        displayUpdate(items, updateItems, msgFunction.apply(items.getPrimaryRefresh()));
 
         OptionalInt secondaryRefresh = items.getSecondaryRefresh();
         if (secondaryRefresh.isPresent()) {
-            int id = secondaryRefresh.getAsInt();
-            displayUpdate(items, updateItems,
-                    new WidgetIndexedItemsMessageWriter(id, updateItems));
+            displayUpdate(items, updateItems, msgFunction.apply(secondaryRefresh.getAsInt()));
         }
     }
 }
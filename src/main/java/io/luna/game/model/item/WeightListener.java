@@ -1,6 +1,6 @@
 package io.luna.game.model.item;
 
-import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.mob.Player;
 
 import java.util.ArrayList;
@@ -86,8 +86,6 @@ public final class WeightListener implements ItemContainerListener {
      * @return The weight.
      */
     private double computeWeight(Optional<Item> item) {
-        return item.map(Item::getItemDef).
-                map(ItemDefinition::getWeight).
-                orElse(0.0);
+        return item.isPresent() ? ItemDefinitionColumns.getWeight(item.get().getId()) : 0.0;
     }
 }
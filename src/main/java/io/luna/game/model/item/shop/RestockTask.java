@@ -4,6 +4,8 @@ import io.luna.game.model.item.Item;
 import io.luna.game.model.item.ItemContainer;
 import io.luna.game.task.Task;
 
+import java.util.BitSet;
+
 /**
  * A {@link Task} implementation that will restock shop items.
  *
@@ -43,18 +45,17 @@ public final class RestockTask extends Task {
 
     @Override
     protected void execute() {
-        // TODO Find a way to do this without looping through entire shop (Maybe use a bitset?)
         ItemContainer container = shop.getContainer();
-        boolean cancelTask = true;
-        for (int index = 0; index < container.capacity(); index++) {
+        BitSet restockIndexes = shop.getRestockIndexes();
+        for (int index = restockIndexes.nextSetBit(0); index >= 0; index = restockIndexes.nextSetBit(index + 1)) {
             Item item = container.get(index);
-            if (item != null && restock(index, item)) {
-                // We had to restock an item, so don't cancel.
-                cancelTask = false;
+            if (item == null || !restock(index, item)) {
+                // The item is gone or fully restocked.
+                restockIndexes.clear(index);
             }
         }
 
-        if (cancelTask) {
+        if (restockIndexes.isEmpty()) {
             // No more items to restock.
             cancel();
         }
@@ -65,7 +66,7 @@ public final class RestockTask extends Task {
      *
      * @param index The index to restock.
      * @param item The item to restock.
-     * @return {@code true} if a restock was performed.
+     * @return {@code true} if the item still needs to be restocked further.
      */
     private boolean restock(int index, Item item) {
         int initialAmount = shop.getAmountMap()[index].orElse(-1);
@@ -73,7 +74,7 @@ public final class RestockTask extends Task {
             // Increase by restock amount, to a maximum of the initial amount.
             int newAmount = Math.min(restockPolicy.getStockAmount() + item.getAmount(), initialAmount);
             shop.getContainer().set(index, item.withAmount(newAmount));
-            return true;
+            return newAmount < initialAmount;
         }
         return false;
     }
@@ -2,7 +2,7 @@ package io.luna.game.model.item.shop;
 
 import com.google.common.base.Preconditions;
 import io.luna.game.model.World;
-import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.def.ItemDefinitionColumns;
 import io.luna.game.model.item.IndexedItem;
 import io.luna.game.model.item.Inventory;
 import io.luna.game.model.item.Item;
@@ -11,6 +11,7 @@ import io.luna.game.model.item.ItemContainer.StackPolicy;
 import io.luna.game.model.mob.Player;
 
 import java.text.NumberFormat;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -140,6 +141,11 @@ public final class Shop {
      */
     private final OptionalInt[] amountMap = new OptionalInt[40];
 
+    /**
+     * The indexes of items that are below their original amounts, and need to be restocked.
+     */
+    private final BitSet restockIndexes = new BitSet(40);
+
     /**
      * The restock task.
      */
@@ -220,8 +226,6 @@ public final class Shop {
             player.sendMessage("The shop has run out of stock.");
             return false;
         }
-        ItemDefinition itemDef = shopItem.getItemDef();
-
         // Adjust the buy amount if it's greater than the amount in stock.
         if (buyAmount > shopItem.getAmount()) {
             buyAmount = shopItem.getAmount();
@@ -231,7 +235,7 @@ public final class Shop {
         int spacesNeeded = inventory.computeSpaceFor(shopItem.withAmount(buyAmount));
         int spacesAvailable = inventory.computeRemainingSize();
         if (spacesNeeded > spacesAvailable) {
-            if (itemDef.isStackable() || spacesAvailable == 0) {
+            if (ItemDefinitionColumns.isStackable(shopItem.getId()) || spacesAvailable == 0) {
                 inventory.fireCapacityExceededEvent();
                 return false;
             }
@@ -243,10 +247,8 @@ public final class Shop {
         int totalValue = computeBuyValue(shopItem, index, buyAmount);
         if (hasValue < totalValue) {
             // They don't, buy as many as they can afford.
-            while (buyAmount > 0 && hasValue < totalValue) {
-                buyAmount--;
-                totalValue = computeBuyValue(shopItem, index, buyAmount);
-            }
+            buyAmount = computeAffordableAmount(shopItem, index, buyAmount, hasValue);
+            totalValue = computeBuyValue(shopItem, index, buyAmount);
             player.sendMessage("You do not have enough " + currency.getPluralName() + " to buy this item.");
 
             if (buyAmount == 0) {
@@ -257,7 +259,7 @@ public final class Shop {
 
         // Buy the item.
         Item buyItem = shopItem.withAmount(buyAmount);
-        Item currencyItem = new Item(currency.getId(), totalValue);
+        Item currencyItem = Item.of(currency.getId(), totalValue);
         if (inventory.remove(currencyItem) && inventory.add(buyItem)) {
             if (amountMap[index] == OptionalInt.empty()) {
                 // Item was never originally in shop, remove it.
@@ -305,7 +307,7 @@ public final class Shop {
 
         // Ensure that the currency can fit into the inventory.
         int totalValue = computeSellValue(sellItem, sellAmount);
-        Item currencyItem = new Item(currency.getId(), totalValue);
+        Item currencyItem = Item.of(currency.getId(), totalValue);
         if (!inventory.hasSpaceFor(currencyItem)) {
             inventory.fireCapacityExceededEvent();
             return false;
@@ -321,25 +323,88 @@ public final class Shop {
     /**
      * Computes the buy value of {@code item}.
      *
+     * @param item The item.
+     * @param index The index of the item in the shop.
+     * @param amountBought The amount of the item to be purchased.
+     * @return The buy value.
+     * @see #computeBuyValue(int, int, int, boolean, int)
+     */
+    private int computeBuyValue(Item item, int index, int amountBought) {
+        return computeBuyValue(ItemDefinitionColumns.getValue(item.getId()), container.computeAmountForIndex(index),
+                amountMap[index].orElse(GEN_DEFAULT_STOCK), amountMap[index].isPresent(), amountBought);
+    }
+
+    /**
+     * Computes the largest amount of {@code item}, up to {@code maxAmount}, that can be bought with {@code hasValue}.
+     *
+     * @param item The item.
+     * @param index The index of the item in the shop.
+     * @param maxAmount The maximum amount to buy.
+     * @param hasValue The amount of currency available.
+     * @return The affordable amount.
+     * @see #computeAffordableAmount(int, int, int, boolean, int, int)
+     */
+    private int computeAffordableAmount(Item item, int index, int maxAmount, int hasValue) {
+        return computeAffordableAmount(ItemDefinitionColumns.getValue(item.getId()),
+                container.computeAmountForIndex(index), amountMap[index].orElse(GEN_DEFAULT_STOCK),
+                amountMap[index].isPresent(), maxAmount, hasValue);
+    }
+
+    /**
+     * Computes the largest amount, up to {@code maxAmount}, that can be bought with {@code hasValue}. The buy value
+     * never decreases as more items are bought, so this is a binary search over the buy value rather than checking
+     * every amount.
+     *
+     * @param value The base value of the item.
+     * @param amountStocked The amount of the item in stock.
+     * @param expectedAmount The amount of the item normally in stock.
+     * @param naturallyStocked If the item is normally sold by the shop.
+     * @param maxAmount The maximum amount to buy.
+     * @param hasValue The amount of currency available.
+     * @return The affordable amount.
+     */
+    static int computeAffordableAmount(int value, int amountStocked, int expectedAmount, boolean naturallyStocked,
+                                       int maxAmount, int hasValue) {
+        if (computeBuyValue(value, amountStocked, expectedAmount, naturallyStocked, maxAmount) <= hasValue) {
+            return maxAmount;
+        }
+
+        // The low amount is always affordable, the high amount never is.
+        int low = 0;
+        int high = maxAmount;
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            if (computeBuyValue(value, amountStocked, expectedAmount, naturallyStocked, middle) <= hasValue) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Computes the buy value of an item.
+     *
      * This is based on extensive black-box testing of modern OSRS's shops, and assuming that none of the code for shop prices
      * has changed since RS2. The principal difference between this function and most private servers is that this one
      * accounts for the different shop formulas used with items that the store normally stocks
      * (for example: selling a staff to Zaff, or a security book to a general store).
      *
-     * @param item The item.
-     * @param index The index of the item in the shop.
+     * @param value The base value of the item.
+     * @param amountStocked The amount of the item in stock.
+     * @param expectedAmount The amount of the item normally in stock.
+     * @param naturallyStocked If the item is normally sold by the shop.
      * @param amountBought The amount of the item to be purchased.
      * @return The buy value.
      */
-    private int computeBuyValue(Item item, int index, int amountBought) {
+    static int computeBuyValue(int value, int amountStocked, int expectedAmount, boolean naturallyStocked,
+                               int amountBought) {
         Preconditions.checkArgument(amountBought >= 0);
 
         int totalMoney = 0;
-        int value = item.getItemDef().getValue();
-        int amountStocked = container.computeAmountForIndex(index);
-        int itemsToReachMaxPrice, itemsToReachMinPrice, expectedAmount;
+        int itemsToReachMaxPrice, itemsToReachMinPrice;
         double maxPrice, minPrice, priceChange;
-        expectedAmount = amountMap[index].orElse(GEN_DEFAULT_STOCK);
         /*
           If an item is naturally sold by the shop it will have a natural expected stock.
 
@@ -351,7 +416,7 @@ public final class Shop {
 
           These values seem to be rounded to the nearest coin.
          */
-        if (amountMap[index].isPresent()) {
+        if (naturallyStocked) {
             maxPrice = MAX_PRICE;
             minPrice = SP_MIN_PRICE;
             priceChange = (expectedAmount >= SP_COMM_THRESHOLD) ? SP_COMM_PRICE_CHANGE : SP_RARE_PRICE_CHANGE;
@@ -457,7 +522,7 @@ public final class Shop {
         Preconditions.checkArgument(amountSold >= 0);
 
         int totalMoney = 0;
-        int value = item.getItemDef().getValue();
+        int value = ItemDefinitionColumns.getValue(item.getId());
         int itemsToReachMaxPrice, expectedAmount;
         double maxPrice, minPrice, priceChange, startingPrice;
         int storeIndex = container.computeIndexForId(item.getId()).orElse(-1);
@@ -533,7 +598,7 @@ public final class Shop {
      * @return {@code true} if this item can be sold.
      */
     private boolean computeCanSell(Item item) {
-        if (!Currency.IDENTIFIERS.contains(item.getId()) && item.getItemDef().isTradeable()) {
+        if (!Currency.IDENTIFIERS.contains(item.getId()) && ItemDefinitionColumns.isTradeable(item.getId())) {
             switch (buyPolicy) {
                 case ALL:
                     // All trading items can be sold.
@@ -620,10 +685,24 @@ public final class Shop {
         return viewing;
     }
 
+    /**
+     * @return The world.
+     */
+    World getWorld() {
+        return world;
+    }
+
     /**
      * @return A dictionary of original item amounts.
      */
     OptionalInt[] getAmountMap() {
         return amountMap;
     }
+
+    /**
+     * @return The indexes of items that need to be restocked.
+     */
+    BitSet getRestockIndexes() {
+        return restockIndexes;
+    }
 }
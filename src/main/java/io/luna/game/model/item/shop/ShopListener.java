@@ -3,10 +3,14 @@ package io.luna.game.model.item.shop;
 import io.luna.game.model.item.IndexedItem;
 import io.luna.game.model.item.ItemContainer;
 import io.luna.game.model.item.RefreshListener;
-import io.luna.net.msg.out.WidgetIndexedItemsMessageWriter;
+import io.luna.game.model.mob.Player;
+import io.luna.net.msg.GameMessageWriter;
+import io.luna.net.msg.SharedMessageWriter;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.Set;
 
 /**
  * A {@link RefreshListener} implementation that queues display messages and triggers restock task
@@ -27,6 +31,7 @@ public final class ShopListener extends RefreshListener {
      * @param shop The shop.
      */
     public ShopListener(Shop shop) {
+        super(shop.getWorld());
         this.shop = shop;
     }
 
@@ -44,20 +49,37 @@ public final class ShopListener extends RefreshListener {
     }
 
     @Override
-    public void displayUpdate(ItemContainer items, List<IndexedItem> updateItems,
-                              WidgetIndexedItemsMessageWriter msg) {
+    public void displayUpdate(ItemContainer items, List<IndexedItem> updateItems, GameMessageWriter msg) {
 
-        // Determine if a restock is needed. Will usually only loop once.
+        // Mark items below their original amounts for restocking, and determine if a restock is needed.
+        OptionalInt[] amountMap = shop.getAmountMap();
+        BitSet restockIndexes = shop.getRestockIndexes();
+        boolean soldOut = false;
         for (int index = 0; index < updateItems.size(); index++) {
             IndexedItem item = updateItems.get(index);
-            if (item != null && item.getAmount() == 0) {
-                shop.restockItems();
-                break;
+            if (item.getAmount() < amountMap[item.getIndex()].orElse(-1)) {
+                restockIndexes.set(item.getIndex());
+            }
+            if (item.getId() != -1 && item.getAmount() == 0) {
+                soldOut = true;
             }
         }
+        if (soldOut) {
+            shop.restockItems();
+        }
 
-        // Queue message for whoever has shop open.
-        shop.getViewing().forEach(player -> player.queue(msg));
+        // Queue message for whoever has shop open, writing it only once.
+        Set<Player> viewing = shop.getViewing();
+        if (viewing.size() == 1) {
+            viewing.forEach(player -> player.queue(msg));
+        } else if (viewing.size() > 1) {
+            var sharedMsg = new SharedMessageWriter(msg);
+            try {
+                viewing.forEach(player -> player.queue(sharedMsg));
+            } finally {
+                sharedMsg.release();
+            }
+        }
     }
 
     @Override
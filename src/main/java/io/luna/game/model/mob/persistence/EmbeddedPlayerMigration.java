@@ -0,0 +1,102 @@
+package io.luna.game.model.mob.persistence;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Iterables;
+import io.luna.Luna;
+import io.luna.game.model.mob.attr.Attribute;
+import io.luna.game.model.mob.persistence.EmbeddedPlayerSerializer.ImportedPlayer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * A command-line tool that copies every player saved by the {@link JsonPlayerSerializer} into the database used by the
+ * {@link EmbeddedPlayerSerializer}. It should be ran while the server is offline, after which {@code serializer} can be
+ * set to {@code "EmbeddedPlayerSerializer"} in {@code luna.toml}. Running it more than once is safe, existing rows are
+ * replaced.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class EmbeddedPlayerMigration {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger;
+
+    /**
+     * The amount of players imported per transaction.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    static {
+        // Ensures logging is configured the same way as the server.
+        Luna.loggingSettings();
+        logger = LogManager.getLogger();
+    }
+
+    /**
+     * Runs the migration.
+     *
+     * @param args The program arguments, always ignored.
+     */
+    public static void main(String[] args) throws Exception {
+        var timer = Stopwatch.createStarted();
+        var serializer = new EmbeddedPlayerSerializer();
+
+        List<Path> files;
+        try (var stream = Files.list(JsonPlayerSerializer.DIR)) {
+            files = stream.filter(file -> file.getFileName().toString().endsWith(".json")).
+                    collect(Collectors.toList());
+        }
+
+        int count = 0;
+        for (List<Path> batch : Iterables.partition(files, BATCH_SIZE)) {
+            Map<String, ImportedPlayer> players = new HashMap<>();
+            for (Path file : batch) {
+                String fileName = file.getFileName().toString();
+                String username = fileName.substring(0, fileName.length() - ".json".length());
+                try {
+                    String jsonData = Files.readString(file);
+                    players.put(username, new ImportedPlayer(parse(jsonData), jsonData));
+                } catch (Exception e) {
+                    logger.warn(new ParameterizedMessage("{}'s data could not be read or parsed, skipping.", username), e);
+                }
+            }
+            serializer.importAll(players);
+            count += players.size();
+            logger.info("Migrated {}/{} players.", box(count), box(files.size()));
+        }
+        logger.info("Migration complete (took {}ms).", box(timer.elapsed().toMillis()));
+    }
+
+    /**
+     * Parses and validates a player's {@code JSON} data, so that malformed files can be skipped before they reach the
+     * import transaction.
+     *
+     * @param jsonData The raw {@code JSON} data.
+     * @return The parsed data.
+     */
+    private static PlayerData parse(String jsonData) {
+        PlayerData data = Attribute.getGsonInstance().fromJson(jsonData, PlayerData.class);
+        checkState(data != null, "File is empty.");
+        checkState(data.rights != null && data.skills != null, "File is missing rights or skills.");
+        return data;
+    }
+
+    /**
+     * Prevent instantiation.
+     */
+    private EmbeddedPlayerMigration() {
+    }
+}
@@ -0,0 +1,278 @@
+package io.luna.game.model.mob.persistence;
+
+import com.google.common.collect.ImmutableList;
+import io.luna.game.model.mob.PlayerRights;
+import io.luna.game.model.mob.Skill;
+import io.luna.game.model.mob.attr.Attribute;
+import io.luna.util.SqlConnectionPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A {@link PlayerSerializer} implementation that stores persistent player data in an embedded {@code H2} database file,
+ * for single-host deployments that don't want to run a separate database server. Player data is stored as a
+ * {@code JSON} blob alongside indexed columns for the username, rights, last IP address, and total level so that
+ * offline players can be looked up without reading every save.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class EmbeddedPlayerSerializer extends PlayerSerializer {
+
+    /**
+     * A player's data parsed from a {@code JSON} file, ready to be imported.
+     */
+    static final class ImportedPlayer {
+
+        /**
+         * The parsed data, used for the indexed columns.
+         */
+        private final PlayerData data;
+
+        /**
+         * The raw {@code JSON} data.
+         */
+        private final String jsonData;
+
+        /**
+         * Creates a new {@link ImportedPlayer}.
+         *
+         * @param data The parsed data.
+         * @param jsonData The raw {@code JSON} data.
+         */
+        ImportedPlayer(PlayerData data, String jsonData) {
+            this.data = data;
+            this.jsonData = jsonData;
+        }
+    }
+
+    /**
+     * The logger instance.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * The path to the database file, without the {@code .mv.db} extension.
+     */
+    static final Path FILE = Path.of("data", "saved_players", "luna_players");
+
+    /**
+     * The statements that create the table and its indexes, if they don't exist.
+     */
+    private static final ImmutableList<String> CREATE_SCHEMA = ImmutableList.of(
+            "CREATE TABLE IF NOT EXISTS players (player_id INT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(12) NOT NULL, " +
+                    "rights VARCHAR(16) NOT NULL, last_ip VARCHAR(45), total_level INT NOT NULL, json_data CLOB NOT NULL);",
+            "CREATE UNIQUE INDEX IF NOT EXISTS players_username ON players (username);",
+            "CREATE INDEX IF NOT EXISTS players_rights ON players (rights);",
+            "CREATE INDEX IF NOT EXISTS players_last_ip ON players (last_ip);",
+            "CREATE INDEX IF NOT EXISTS players_total_level ON players (total_level);");
+
+    /**
+     * Selects a player's data.
+     */
+    private static final String SELECT_PLAYER = "SELECT json_data FROM players WHERE username = ?;";
+
+    /**
+     * Inserts or replaces a player's data.
+     */
+    private static final String MERGE_PLAYER = "MERGE INTO players (username, rights, last_ip, total_level, json_data) " +
+            "KEY (username) VALUES (?, ?, ?, ?, ?);";
+
+    /**
+     * The connection pool.
+     */
+    private final SqlConnectionPool connectionPool;
+
+    /**
+     * Creates a new {@link EmbeddedPlayerSerializer}.
+     */
+    public EmbeddedPlayerSerializer() throws SQLException {
+        connectionPool = new SqlConnectionPool.Builder()
+                .poolName("EmbeddedPlayerDataPersistence")
+                .jdbcUrl("jdbc:h2:file:" + FILE.toAbsolutePath())
+                .build();
+        createSchema();
+    }
+
+    @Override
+    public PlayerData load(String username) throws Exception {
+        try (var connection = connectionPool.take();
+             var loadData = connection.prepareStatement(SELECT_PLAYER)) {
+            loadData.setString(1, username);
+            try (var results = loadData.executeQuery()) {
+                if (results.next()) {
+                    String jsonData = results.getString("json_data");
+                    return Attribute.getGsonInstance().fromJson(jsonData, PlayerData.class);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void save(String username, PlayerData data) throws Exception {
+        try (var connection = connectionPool.take();
+             var mergeData = connection.prepareStatement(MERGE_PLAYER)) {
+            addParameters(username, data, mergeData);
+            mergeData.executeUpdate();
+        }
+    }
+
+    @Override
+    public void saveAll(Map<String, PlayerData> players) throws Exception {
+        try (var connection = connectionPool.take();
+             var mergeData = connection.prepareStatement(MERGE_PLAYER)) {
+            connection.setAutoCommit(false);
+            try {
+                for (Entry<String, PlayerData> entry : players.entrySet()) {
+                    addParameters(entry.getKey(), entry.getValue(), mergeData);
+                    mergeData.addBatch();
+                }
+                mergeData.executeBatch();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the usernames of all players with {@code rights}.
+     *
+     * @param rights The rights to look for.
+     * @return The usernames.
+     * @throws SQLException If any errors occur.
+     */
+    public ImmutableList<String> findByRights(PlayerRights rights) throws SQLException {
+        return findUsernames("SELECT username FROM players WHERE rights = ?;", rights.name());
+    }
+
+    /**
+     * Retrieves the usernames of all players that last logged in from {@code lastIp}.
+     *
+     * @param lastIp The IP address to look for.
+     * @return The usernames.
+     * @throws SQLException If any errors occur.
+     */
+    public ImmutableList<String> findByLastIp(String lastIp) throws SQLException {
+        return findUsernames("SELECT username FROM players WHERE last_ip = ?;", lastIp);
+    }
+
+    /**
+     * Retrieves the usernames of the players with the highest total levels.
+     *
+     * @param limit The maximum amount of usernames to retrieve.
+     * @return The usernames, ordered from highest to lowest total level.
+     * @throws SQLException If any errors occur.
+     */
+    public ImmutableList<String> findHighestTotalLevels(int limit) throws SQLException {
+        return findUsernames("SELECT username FROM players ORDER BY total_level DESC LIMIT ?;", limit);
+    }
+
+    /**
+     * Runs a query that selects usernames using a single parameter.
+     *
+     * @param sql The query.
+     * @param parameter The parameter.
+     * @return The usernames.
+     * @throws SQLException If any errors occur.
+     */
+    private ImmutableList<String> findUsernames(String sql, Object parameter) throws SQLException {
+        var usernames = ImmutableList.<String>builder();
+        try (var connection = connectionPool.take();
+             var query = connection.prepareStatement(sql)) {
+            query.setObject(1, parameter);
+            try (var results = query.executeQuery()) {
+                while (results.next()) {
+                    usernames.add(results.getString("username"));
+                }
+            }
+        }
+        return usernames.build();
+    }
+
+    /**
+     * Creates the table and its indexes, if they don't already exist.
+     *
+     * @throws SQLException If any errors occur.
+     */
+    private void createSchema() throws SQLException {
+        try (var connection = connectionPool.take();
+             var statement = connection.createStatement()) {
+            for (String sql : CREATE_SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        logger.debug("Embedded player database ready at {}.", FILE);
+    }
+
+    /**
+     * Imports parsed player data in a single transaction, storing the raw {@code JSON} text as-is rather than
+     * re-serializing it. Existing rows with the same username are replaced.
+     *
+     * @param players The parsed data, keyed by username.
+     * @throws Exception If any errors occur.
+     */
+    void importAll(Map<String, ImportedPlayer> players) throws Exception {
+        try (var connection = connectionPool.take();
+             var mergeData = connection.prepareStatement(MERGE_PLAYER)) {
+            connection.setAutoCommit(false);
+            try {
+                for (Entry<String, ImportedPlayer> entry : players.entrySet()) {
+                    ImportedPlayer player = entry.getValue();
+                    addParameters(entry.getKey(), player.data, player.jsonData, mergeData);
+                    mergeData.addBatch();
+                }
+                mergeData.executeBatch();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Prepares parameters for the merge statement.
+     *
+     * @param username The username.
+     * @param data The player's data.
+     * @param statement The SQL statement instance.
+     * @throws SQLException If any errors occur.
+     */
+    private void addParameters(String username, PlayerData data, PreparedStatement statement) throws SQLException {
+        addParameters(username, data, Attribute.getGsonInstance().toJson(data, PlayerData.class), statement);
+    }
+
+    /**
+     * Prepares parameters for the merge statement.
+     *
+     * @param username The username.
+     * @param data The player's data, used for the indexed columns.
+     * @param jsonData The player's data as {@code JSON}.
+     * @param statement The SQL statement instance.
+     * @throws SQLException If any errors occur.
+     */
+    private void addParameters(String username, PlayerData data, String jsonData, PreparedStatement statement)
+            throws SQLException {
+        int totalLevel = 0;
+        for (Skill skill : data.skills) {
+            totalLevel += skill.getStaticLevel();
+        }
+        statement.setString(1, username);
+        statement.setString(2, data.rights.name());
+        statement.setString(3, data.lastIp);
+        statement.setInt(4, totalLevel);
+        statement.setString(5, jsonData);
+    }
+}
@@ -15,7 +15,7 @@ public final class JsonPlayerSerializer extends PlayerSerializer {
     /**
      * The path to the local files.
      */
-    private static final Path DIR = Path.of("data", "saved_players");
+    static final Path DIR = Path.of("data", "saved_players");
 
     static {
         try {
@@ -6,8 +6,13 @@ import io.luna.game.model.mob.Player;
 import io.luna.util.ReflectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
 /**
  * A model responsible for creating the serializer and performing synchronous loads and saves.
  *
@@ -48,12 +53,30 @@ public final class PlayerPersistence {
      * @param data The data to save.
      */
     public void save(String username, PlayerData data) throws Exception {
-        if (data.needsHash) {
-            data.password = BCrypt.hashpw(data.plainTextPassword, BCrypt.gensalt(Luna.settings().passwordStrength()));
-        }
+        hashPassword(data);
         serializer.save(username, data);
     }
 
+    /**
+     * Synchronously saves persistent data for many players at once. Players whose passwords can't be hashed are logged
+     * and left out, rather than stopping the save for everyone else.
+     *
+     * @param players The data to save, keyed by username.
+     */
+    public void saveAll(Map<String, PlayerData> players) throws Exception {
+        Map<String, PlayerData> hashedPlayers = new LinkedHashMap<>(players.size());
+        for (Entry<String, PlayerData> entry : players.entrySet()) {
+            String username = entry.getKey();
+            try {
+                hashPassword(entry.getValue());
+                hashedPlayers.put(username, entry.getValue());
+            } catch (Exception e) {
+                logger.error(new ParameterizedMessage("Issue hashing {}'s password during mass save.", username), e);
+            }
+        }
+        serializer.saveAll(hashedPlayers);
+    }
+
     /**
      * Synchronously loads persistent data for {@code username}.
      *
@@ -64,6 +87,17 @@ public final class PlayerPersistence {
         return serializer.load(username);
     }
 
+    /**
+     * Hashes the plain text password within {@code data}, if needed.
+     *
+     * @param data The data.
+     */
+    private void hashPassword(PlayerData data) {
+        if (data.needsHash) {
+            data.password = BCrypt.hashpw(data.plainTextPassword, BCrypt.gensalt(Luna.settings().passwordStrength()));
+        }
+    }
+
     /**
      * Initializes a new serializer based on data within {@code luna.toml}.
      *
@@ -80,4 +114,11 @@ public final class PlayerPersistence {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The current serializer.
+     */
+    public PlayerSerializer getSerializer() {
+        return serializer;
+    }
+}
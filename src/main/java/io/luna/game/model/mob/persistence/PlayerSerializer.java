@@ -1,5 +1,12 @@
 package io.luna.game.model.mob.persistence;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
 /**
  * An abstraction model that handles loading and saving of {@link PlayerData}.
  *
@@ -7,6 +14,11 @@ package io.luna.game.model.mob.persistence;
  */
 public abstract class PlayerSerializer {
 
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
     /**
      * Loads {@link PlayerData} from an external data source.
      *
@@ -24,4 +36,23 @@ public abstract class PlayerSerializer {
      * @throws Exception If any errors occur.
      */
     public abstract void save(String username, PlayerData data) throws Exception;
+
+    /**
+     * Saves {@link PlayerData} for many players to an external data source. Serializers that are able to group writes
+     * together should override this function, by default each player is saved individually and a failure to save one
+     * player is logged without affecting the rest.
+     *
+     * @param players The data to save, keyed by username.
+     * @throws Exception If any errors occur.
+     */
+    public void saveAll(Map<String, PlayerData> players) throws Exception {
+        for (Entry<String, PlayerData> entry : players.entrySet()) {
+            String username = entry.getKey();
+            try {
+                save(username, entry.getValue());
+            } catch (Exception e) {
+                logger.error(new ParameterizedMessage("Issue saving {}'s data during mass save.", username), e);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package io.luna.game.model.mob.persistence;
 
+import com.google.common.collect.Iterables;
+import io.luna.game.model.item.IndexedItem;
 import io.luna.game.model.mob.Skill;
 import io.luna.game.model.mob.attr.Attribute;
 import io.luna.util.SqlConnectionPool;
@@ -11,19 +13,300 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
- * A {@link PlayerSerializer} implementation that stores persistent player data in an {@code SQL} database.
+ * A {@link PlayerSerializer} implementation that stores persistent player data in an {@code SQL} database. Item
+ * containers are stored in the normalized {@code items_data} table (one row per occupied slot) rather than within the
+ * {@code JSON} blob, and saves for many players are grouped into batched transactions.
  *
  * @author lare96 <http://github.com/lare96>
  */
 public final class SqlPlayerSerializer extends PlayerSerializer {
 
+    /**
+     * An enumerated type whose elements represent item containers stored in the {@code items_data} table.
+     */
+    private enum ItemTable {
+        INVENTORY("inventory", data -> data.inventory, (data, items) -> data.inventory = items),
+        BANK("bank", data -> data.bank, (data, items) -> data.bank = items),
+        EQUIPMENT("equipment", data -> data.equipment, (data, items) -> data.equipment = items);
+
+        /**
+         * The container key. Also the name of the {@link PlayerData} field it replaces in the {@code JSON} blob.
+         */
+        private final String key;
+
+        /**
+         * The container getter.
+         */
+        private final Function<PlayerData, List<IndexedItem>> getter;
+
+        /**
+         * The container setter.
+         */
+        private final BiConsumer<PlayerData, List<IndexedItem>> setter;
+
+        /**
+         * Creates a new {@link ItemTable}.
+         *
+         * @param key The container key.
+         * @param getter The container getter.
+         * @param setter The container setter.
+         */
+        ItemTable(String key, Function<PlayerData, List<IndexedItem>> getter,
+                  BiConsumer<PlayerData, List<IndexedItem>> setter) {
+            this.key = key;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Retrieves the table for {@code key}.
+         *
+         * @param key The container key.
+         * @return The table, or {@code null} if the key is unknown.
+         */
+        private static ItemTable forKey(String key) {
+            for (ItemTable table : values()) {
+                if (table.key.equals(key)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A group of prepared statements that accumulate the writes for many players, so they can be sent to the
+     * database in as few round trips as possible. Statements are prepared once per batch rather than once per player.
+     */
+    private static final class SaveBatch implements AutoCloseable {
+
+        /**
+         * Inserts a new row into the main table.
+         */
+        private final PreparedStatement insertPlayer;
+
+        /**
+         * Updates an existing row within the main table.
+         */
+        private final PreparedStatement updatePlayer;
+
+        /**
+         * Inserts a new row into the skills table.
+         */
+        private final PreparedStatement insertSkills;
+
+        /**
+         * Updates an existing row within the skills table.
+         */
+        private final PreparedStatement updateSkills;
+
+        /**
+         * Deletes all item rows for a player.
+         */
+        private final PreparedStatement deleteItems;
+
+        /**
+         * Inserts a single item row.
+         */
+        private final PreparedStatement insertItems;
+
+        /**
+         * Creates a new {@link SaveBatch}.
+         *
+         * @param connection The connection to prepare the statements on.
+         * @throws SQLException If any errors occur.
+         */
+        private SaveBatch(Connection connection) throws SQLException {
+            insertPlayer = connection.prepareStatement(INSERT_PLAYER, Statement.RETURN_GENERATED_KEYS);
+            updatePlayer = connection.prepareStatement(UPDATE_PLAYER);
+            insertSkills = connection.prepareStatement(INSERT_SKILLS);
+            updateSkills = connection.prepareStatement(UPDATE_SKILLS);
+            deleteItems = connection.prepareStatement(DELETE_ITEMS);
+            insertItems = connection.prepareStatement(INSERT_ITEMS);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (insertPlayer; updatePlayer; insertSkills; updateSkills; deleteItems; insertItems) {
+                // Closes all statements, even if one of them fails.
+            }
+        }
+
+        /**
+         * Adds the writes for a single player to this batch. New players are inserted into the main table right away,
+         * in order to retrieve their database ID.
+         *
+         * @param username The username.
+         * @param data The player's data.
+         * @throws SQLException If any errors occur.
+         */
+        private void add(String username, PlayerData data) throws SQLException {
+            boolean newPlayer = data.databaseId == -1;
+            if (newPlayer) {
+                data.databaseId = insertNewPlayer(username, data);
+
+                insertSkills.setInt(1, data.databaseId);
+                addSkillParameters(2, data.skills, insertSkills);
+                insertSkills.addBatch();
+            } else {
+                int index = addSkillParameters(1, data.skills, updateSkills);
+                updateSkills.setInt(index, data.databaseId);
+                updateSkills.addBatch();
+
+                deleteItems.setInt(1, data.databaseId);
+                deleteItems.addBatch();
+            }
+
+            updatePlayer.setString(1, data.password);
+            updatePlayer.setString(2, data.rights.name());
+            updatePlayer.setString(3, toJson(data));
+            updatePlayer.setInt(4, data.databaseId);
+            updatePlayer.addBatch();
+
+            for (ItemTable table : ItemTable.values()) {
+                List<IndexedItem> items = table.getter.apply(data);
+                if (items == null) {
+                    continue;
+                }
+                for (IndexedItem item : items) {
+                    insertItems.setInt(1, data.databaseId);
+                    insertItems.setString(2, table.key);
+                    insertItems.setInt(3, item.getIndex());
+                    insertItems.setInt(4, item.getId());
+                    insertItems.setInt(5, item.getAmount());
+                    insertItems.addBatch();
+                }
+            }
+        }
+
+        /**
+         * Inserts a new player into the main table.
+         *
+         * @param username The username.
+         * @param data The player's data.
+         * @return The generated database ID.
+         * @throws SQLException If any errors occur.
+         */
+        private int insertNewPlayer(String username, PlayerData data) throws SQLException {
+            insertPlayer.setString(1, username);
+            insertPlayer.setString(2, data.password);
+            insertPlayer.setString(3, data.rights.name());
+            insertPlayer.setString(4, "");
+            insertPlayer.executeUpdate();
+
+            try (var results = insertPlayer.getGeneratedKeys()) {
+                if (results.next()) {
+                    return results.getInt(1);
+                }
+            }
+            throw new SQLException("No database ID generated for " + username + ".");
+        }
+
+        /**
+         * Executes all pending writes. Deletes run before inserts so that item rows are fully replaced.
+         *
+         * @throws SQLException If any errors occur, or if an existing player's row could not be found.
+         */
+        private void execute() throws SQLException {
+            insertSkills.executeBatch();
+            checkUpdated(updateSkills.executeBatch());
+            checkUpdated(updatePlayer.executeBatch());
+            deleteItems.executeBatch();
+            insertItems.executeBatch();
+        }
+
+        /**
+         * Ensures that every statement in a batch updated at least one row.
+         *
+         * @param counts The update counts.
+         * @throws SQLException If a statement didn't update any rows.
+         */
+        private void checkUpdated(int[] counts) throws SQLException {
+            for (int count : counts) {
+                if (count == 0 || count == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("Batched update did not affect any rows.");
+                }
+            }
+        }
+    }
+
     /**
      * The logger instance.
      */
     private static final Logger logger = LogManager.getLogger();
 
+    /**
+     * The maximum amount of players saved within a single transaction.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Creates the {@code items_data} table, if it doesn't already exist. Existing databases only need this table
+     * added; containers of players saved before it existed are still read from the {@code JSON} blob until their next
+     * save.
+     */
+    private static final String CREATE_ITEMS_TABLE = "CREATE TABLE IF NOT EXISTS items_data (" +
+            "player_id INT NOT NULL, container VARCHAR(16) NOT NULL, slot INT NOT NULL, item_id INT NOT NULL, " +
+            "amount INT NOT NULL, PRIMARY KEY (player_id, container, slot));";
+
+    /**
+     * Selects a player's main data.
+     */
+    private static final String SELECT_PLAYER = "SELECT player_id, json_data FROM main_data WHERE username = ?;";
+
+    /**
+     * Selects a player's items.
+     */
+    private static final String SELECT_ITEMS = "SELECT container, slot, item_id, amount FROM items_data WHERE player_id = ?;";
+
+    /**
+     * Inserts a new player into the main table.
+     */
+    private static final String INSERT_PLAYER = "INSERT INTO main_data (username, password, rights, json_data) VALUES (?, ?, ?, ?);";
+
+    /**
+     * Updates an existing player within the main table.
+     */
+    private static final String UPDATE_PLAYER = "UPDATE main_data SET password = ?, rights = ?, json_data = ? WHERE player_id = ?;";
+
+    /**
+     * Inserts a new player into the skills table.
+     */
+    private static final String INSERT_SKILLS = "INSERT INTO skills_data (player_id,attack_xp,attack_level,defence_xp,defence_level,strength_xp,strength_level,hitpoints_xp,hitpoints_level," +
+            "ranged_xp,ranged_level,prayer_xp,prayer_level,magic_xp,magic_level,cooking_xp,cooking_level,woodcutting_xp,woodcutting_level,fletching_xp,fletching_level,fishing_xp,fishing_level," +
+            "firemaking_xp,firemaking_level,crafting_xp,crafting_level,smithing_xp,smithing_level,mining_xp,mining_level,herblore_xp,herblore_level,agility_xp,agility_level,thieving_xp,thieving_level," +
+            "slayer_xp,slayer_level,farming_xp,farming_level,runecrafting_xp,runecrafting_level,total_level) " +
+            "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+
+    /**
+     * Updates an existing player within the skills table.
+     */
+    private static final String UPDATE_SKILLS = "UPDATE skills_data SET attack_xp = ?,attack_level = ?,defence_xp = ?,defence_level = ?,strength_xp = ?,strength_level = ?,hitpoints_xp = ?,hitpoints_level = ?," +
+            "ranged_xp = ?,ranged_level = ?,prayer_xp = ?,prayer_level = ?,magic_xp = ?,magic_level = ?,cooking_xp = ?,cooking_level = ?,woodcutting_xp = ?,woodcutting_level = ?,fletching_xp = ?,fletching_level = ?,fishing_xp = ?,fishing_level = ?," +
+            "firemaking_xp = ?,firemaking_level = ?,crafting_xp = ?,crafting_level = ?,smithing_xp = ?,smithing_level = ?,mining_xp = ?,mining_level = ?,herblore_xp = ?,herblore_level = ?,agility_xp = ?,agility_level = ?,thieving_xp = ?,thieving_level = ?," +
+            "slayer_xp = ?,slayer_level = ?,farming_xp = ?,farming_level = ?,runecrafting_xp = ?,runecrafting_level = ?,total_level = ? WHERE player_id = ?;";
+
+    /**
+     * Deletes all of a player's items.
+     */
+    private static final String DELETE_ITEMS = "DELETE FROM items_data WHERE player_id = ?;";
+
+    /**
+     * Inserts a single item.
+     */
+    private static final String INSERT_ITEMS = "INSERT INTO items_data (player_id, container, slot, item_id, amount) VALUES (?, ?, ?, ?, ?);";
+
     /**
      * The connection pool.
      */
@@ -36,22 +319,47 @@ public final class SqlPlayerSerializer extends PlayerSerializer {
         connectionPool = new SqlConnectionPool.Builder()
                 .poolName("PlayerDataPersistence")
                 .database("luna_players")
+                .property("cachePrepStmts", true)
+                .property("prepStmtCacheSize", 64)
+                .property("prepStmtCacheSqlLimit", 2048)
+                .property("useServerPrepStmts", true)
+                .property("rewriteBatchedStatements", true)
                 .build();
+        createSchema();
+    }
+
+    /**
+     * Creates the tables introduced by this serializer, if they don't already exist.
+     *
+     * @throws SQLException If any errors occur.
+     */
+    private void createSchema() throws SQLException {
+        try (var connection = connectionPool.take();
+             var statement = connection.createStatement()) {
+            statement.execute(CREATE_ITEMS_TABLE);
+        }
     }
 
     @Override
     public PlayerData load(String username) throws Exception {
         PlayerData data = null;
         try (var connection = connectionPool.take();
-             var loadData = connection.prepareStatement("SELECT json_data FROM main_data WHERE username = ?;")) {
+             var loadData = connection.prepareStatement(SELECT_PLAYER);
+             var loadItems = connection.prepareStatement(SELECT_ITEMS)) {
             loadData.setString(1, username);
 
+            int playerId = -1;
             try (var results = loadData.executeQuery()) {
                 if (results.next()) {
+                    playerId = results.getInt("player_id");
                     String jsonData = results.getString("json_data");
                     data = Attribute.getGsonInstance().fromJson(jsonData, PlayerData.class);
                 }
             }
+            if (data != null) {
+                loadItems.setInt(1, playerId);
+                loadItems(data, loadItems);
+            }
         } catch (Exception e) {
             logger.warn(new ParameterizedMessage("{}'s data could not be loaded.", username), e);
         }
@@ -60,121 +368,113 @@ public final class SqlPlayerSerializer extends PlayerSerializer {
 
     @Override
     public void save(String username, PlayerData data) throws Exception {
+        saveAll(Map.of(username, data));
+    }
+
+    @Override
+    public void saveAll(Map<String, PlayerData> players) throws Exception {
         try (var connection = connectionPool.take()) {
             connection.setAutoCommit(false);
             try {
-                if (data.databaseId == -1) {
-                    saveNewPlayer(connection, username, data);
-                } else {
-                    saveExistingPlayer(connection, data);
+                for (List<Entry<String, PlayerData>> batch : Iterables.partition(players.entrySet(), BATCH_SIZE)) {
+                    if (saveBatch(connection, batch) || batch.size() == 1) {
+                        continue;
+                    }
+
+                    // Batch failed, save each player in their own transaction so one bad record doesn't fail the rest.
+                    logger.warn("Batched save of {} players failed, falling back to individual saves.", box(batch.size()));
+                    for (Entry<String, PlayerData> entry : batch) {
+                        saveBatch(connection, List.of(entry));
+                    }
                 }
             } finally {
                 connection.setAutoCommit(true);
             }
         } catch (Exception e) {
-            logger.warn(new ParameterizedMessage("{}'s data could not be saved.", username), e);
+            logger.warn(new ParameterizedMessage("Data for {} players could not be saved.", box(players.size())), e);
         }
     }
 
     /**
-     * Saves a new player to the database.
+     * Saves a group of players within a single transaction.
      *
      * @param connection The connection.
-     * @param username The username.
-     * @param data The player's data.
-     * @throws SQLException If any errors occur.
+     * @param players The players to save.
+     * @return {@code true} if the transaction was committed.
+     * @throws SQLException If the transaction could not be rolled back.
      */
-    private void saveNewPlayer(Connection connection, String username, PlayerData data) throws SQLException {
-        try (var insertPlayer = connection.prepareStatement("INSERT INTO main_data (username, password, rights, json_data) VALUES (?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
-             var insertSkills = connection.prepareStatement("INSERT INTO skills_data (player_id,attack_xp,attack_level,defence_xp,defence_level,strength_xp,strength_level,hitpoints_xp,hitpoints_level," +
-                     "ranged_xp,ranged_level,prayer_xp,prayer_level,magic_xp,magic_level,cooking_xp,cooking_level,woodcutting_xp,woodcutting_level,fletching_xp,fletching_level,fishing_xp,fishing_level," +
-                     "firemaking_xp,firemaking_level,crafting_xp,crafting_level,smithing_xp,smithing_level,mining_xp,mining_level,herblore_xp,herblore_level,agility_xp,agility_level,thieving_xp,thieving_level," +
-                     "slayer_xp,slayer_level,farming_xp,farming_level,runecrafting_xp,runecrafting_level,total_level) " +
-                     "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
-             var updateJsonData = connection.prepareStatement("UPDATE main_data SET json_data = ? WHERE player_id = ?;")) {
-
-            // Insert player data to the main table.
-            insertPlayer.setString(1, username);
-            insertPlayer.setString(2, data.password);
-            insertPlayer.setString(3, data.rights.name());
-            insertPlayer.setString(4, "");
-            insertPlayer.executeUpdate();
-
-            // Get database ID.
-            int playerId = -1;
-            try (var results = insertPlayer.getGeneratedKeys()) {
-                if (results.next()) {
-                    playerId = results.getInt(1);
+    private boolean saveBatch(Connection connection, List<Entry<String, PlayerData>> players) throws SQLException {
+        List<PlayerData> newPlayers = new ArrayList<>();
+        try (var batch = new SaveBatch(connection)) {
+            for (Entry<String, PlayerData> entry : players) {
+                PlayerData data = entry.getValue();
+                if (data.databaseId == -1) {
+                    newPlayers.add(data);
                 }
+                batch.add(entry.getKey(), data);
             }
-            if (playerId == -1) {
-                connection.rollback();
-                return;
-            }
-
-            // Insert player data to the skills table.
-            insertSkills.setInt(1, playerId);
-            addSkillParameters(2, data.skills, insertSkills);
-            if (insertSkills.executeUpdate() < 1) {
-                connection.rollback();
-                return;
-            }
-
-            // Update json data with database ID.
-            data.databaseId = playerId;
-            updateJsonData.setString(1, Attribute.getGsonInstance().toJson(data));
-            updateJsonData.setInt(2, playerId);
-            if (updateJsonData.executeUpdate() < 1) {
-                connection.rollback();
-                return;
-            }
-
-            // Commit transaction.
+            batch.execute();
             connection.commit();
+            return true;
         } catch (Exception e) {
             connection.rollback();
-            throw new IllegalStateException(e);
+
+            // Generated IDs were rolled back, so these players are still new.
+            newPlayers.forEach(data -> data.databaseId = -1);
+            if (players.size() == 1) {
+                String username = players.get(0).getKey();
+                logger.warn(new ParameterizedMessage("{}'s data could not be saved.", username), e);
+            } else {
+                logger.catching(e);
+            }
+            return false;
         }
     }
 
     /**
-     * Saves an existing player to the database.
+     * Loads a player's items from the {@code items_data} table. Containers not present within the table retain
+     * the value they had within the {@code JSON} blob, for compatibility with older saves.
      *
-     * @param connection The connection.
      * @param data The player's data.
+     * @param loadItems The prepared statement.
      * @throws SQLException If any errors occur.
      */
-    private void saveExistingPlayer(Connection connection, PlayerData data) throws SQLException {
-        try (var updatePlayer = connection.prepareStatement("UPDATE main_data SET password = ?, rights = ?, json_data = ? WHERE player_id = ?;", Statement.RETURN_GENERATED_KEYS);
-             var updateSkills = connection.prepareStatement("UPDATE skills_data SET attack_xp = ?,attack_level = ?,defence_xp = ?,defence_level = ?,strength_xp = ?,strength_level = ?,hitpoints_xp = ?,hitpoints_level = ?," +
-                     "ranged_xp = ?,ranged_level = ?,prayer_xp = ?,prayer_level = ?,magic_xp = ?,magic_level = ?,cooking_xp = ?,cooking_level = ?,woodcutting_xp = ?,woodcutting_level = ?,fletching_xp = ?,fletching_level = ?,fishing_xp = ?,fishing_level = ?," +
-                     "firemaking_xp = ?,firemaking_level = ?,crafting_xp = ?,crafting_level = ?,smithing_xp = ?,smithing_level = ?,mining_xp = ?,mining_level = ?,herblore_xp = ?,herblore_level = ?,agility_xp = ?,agility_level = ?,thieving_xp = ?,thieving_level = ?," +
-                     "slayer_xp = ?,slayer_level = ?,farming_xp = ?,farming_level = ?,runecrafting_xp = ?,runecrafting_level = ?,total_level = ? WHERE player_id = ?;")) {
-
-            // Update player data in the main table.
-            updatePlayer.setString(1, data.password);
-            updatePlayer.setString(2, data.rights.name());
-            updatePlayer.setString(3, Attribute.getGsonInstance().toJson(data));
-            updatePlayer.setInt(4, data.databaseId);
-            if (updatePlayer.executeUpdate() < 1) {
-                connection.rollback();
-                return;
+    private void loadItems(PlayerData data, PreparedStatement loadItems) throws SQLException {
+        Map<ItemTable, List<IndexedItem>> containers = new EnumMap<>(ItemTable.class);
+        try (var results = loadItems.executeQuery()) {
+            while (results.next()) {
+                ItemTable table = ItemTable.forKey(results.getString("container"));
+                if (table == null) {
+                    continue;
+                }
+                containers.computeIfAbsent(table, key -> new ArrayList<>()).add(new IndexedItem(
+                        results.getInt("slot"), results.getInt("item_id"), results.getInt("amount")));
             }
-
-            // Update player data in the skills table.
-            int index = addSkillParameters(1, data.skills, updateSkills);
-            updateSkills.setInt(index, data.databaseId);
-            if (updateSkills.executeUpdate() < 1) {
-                connection.rollback();
-                return;
+        }
+        for (ItemTable table : ItemTable.values()) {
+            List<IndexedItem> items = containers.get(table);
+            if (items != null) {
+                table.setter.accept(data, items);
+            } else if (table.getter.apply(data) == null) {
+                table.setter.accept(data, new ArrayList<>());
             }
+        }
+    }
 
-            // Commit transaction.
-            connection.commit();
-        } catch (Exception e) {
-            connection.rollback();
-            throw new IllegalStateException(e);
+    /**
+     * Converts {@code data} into a {@code JSON} string, excluding the item containers that are stored in their own
+     * table.
+     *
+     * @param data The player's data.
+     * @return The {@code JSON} string.
+     */
+    private static String toJson(PlayerData data) {
+        var gson = Attribute.getGsonInstance();
+        var jsonData = gson.toJsonTree(data).getAsJsonObject();
+        for (ItemTable table : ItemTable.values()) {
+            jsonData.remove(table.key);
         }
+        return gson.toJson(jsonData);
     }
 
     /**
@@ -186,7 +486,7 @@ public final class SqlPlayerSerializer extends PlayerSerializer {
      * @return The new index.
      * @throws SQLException If any errors occur.
      */
-    private int addSkillParameters(int index, Skill[] skills, PreparedStatement statement) throws SQLException {
+    private static int addSkillParameters(int index, Skill[] skills, PreparedStatement statement) throws SQLException {
         int totalLevel = 0;
         for (var skill : skills) {
             int level = skill.getStaticLevel();
@@ -197,4 +497,4 @@ public final class SqlPlayerSerializer extends PlayerSerializer {
         statement.setInt(index++, totalLevel);
         return index;
     }
-}
\ No newline at end of file
+}
@@ -64,6 +64,10 @@ public class GameObject extends StationaryEntity {
         this.direction = direction;
         this.dynamic = dynamic;
         definition = ObjectDefinition.ALL.retrieve(id);
+        if (!dynamic) {
+            // Static objects are part of the map, so the client already displays them.
+            setDisplayed();
+        }
     }
 
     /**
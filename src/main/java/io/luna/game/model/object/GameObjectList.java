@@ -5,19 +5,24 @@ import com.google.common.collect.UnmodifiableIterator;
 import io.luna.game.model.EntityList;
 import io.luna.game.model.EntityState;
 import io.luna.game.model.EntityType;
+import io.luna.game.model.Position;
 import io.luna.game.model.World;
 
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.Stream;
 
 /**
  * An {@link EntityList} implementation model for {@link GameObject}s. Iterating on instances of this should be avoided
  * because of the slow {@link #iterator()} implementation.
+ * <p>
+ * Static objects from the map are held in a compact {@link StaticObjectStore} rather than as {@link GameObject}s. A
+ * static object is materialized and registered the first time its tile is looked up through
+ * {@link #findAll(Position)}, which is also how dynamic objects find the static objects they replace.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -29,9 +34,14 @@ public final class GameObjectList extends EntityList<GameObject> {
     private final Set<GameObject> dynamicSet = new HashSet<>(128);
 
     /**
-     * A set of objects
+     * A set of static objects that have been materialized from {@link #staticStore}, or registered directly.
      */
-    private final Set<GameObject> staticSet = new HashSet<>(); // TODO Modify based on amount of cache objects.
+    private final Set<GameObject> staticSet = new HashSet<>();
+
+    /**
+     * The static objects that haven't been materialized yet.
+     */
+    private final StaticObjectStore staticStore = new StaticObjectStore();
 
     /**
      * Creates a new {@link EntityList}.
@@ -63,6 +73,32 @@ public final class GameObjectList extends EntityList<GameObject> {
         return Iterators.unmodifiableIterator(all); // Make them immutable.
     }
 
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Static objects on {@code position} that are still in the compact store are materialized and registered first.
+     */
+    @Override
+    public Stream<GameObject> findAll(Position position) {
+        for (GameObject object : staticStore.materialize(position, this::createStatic)) {
+            addToStaticSet(object);
+        }
+        return super.findAll(position);
+    }
+
+    /**
+     * Adds a static object from the map. The object is held in compact form until its tile is looked up, and
+     * nothing is sent to players since the client already displays it.
+     *
+     * @param id The identifier.
+     * @param position The position.
+     * @param type The type.
+     * @param direction The direction.
+     */
+    public void addStatic(int id, Position position, ObjectType type, ObjectDirection direction) {
+        staticStore.add(id, position, type, direction);
+    }
+
     @Override
     protected boolean onRegister(GameObject object) {
 
@@ -72,13 +108,15 @@ public final class GameObjectList extends EntityList<GameObject> {
         removeFromSet(existingObject);
 
         // Set object as active.
-        boolean added = object.isDynamic() ? dynamicSet.add(object) : staticSet.add(object);
-        if (added) {
-            object.show();
-            object.setState(EntityState.ACTIVE);
-            return true;
+        if (object.isDynamic()) {
+            if (dynamicSet.add(object)) {
+                object.show();
+                object.setState(EntityState.ACTIVE);
+                return true;
+            }
+            return false;
         }
-        return false;
+        return addToStaticSet(object);
     }
 
     @Override
@@ -91,7 +129,35 @@ public final class GameObjectList extends EntityList<GameObject> {
 
     @Override
     public int size() {
-        return dynamicSet.size() + staticSet.size();
+        return dynamicSet.size() + staticSet.size() + staticStore.size();
+    }
+
+    /**
+     * Adds {@code object} to the static set and sets it as active. Static objects are already displayed by the client,
+     * so nothing is sent.
+     *
+     * @param object The object to add.
+     * @return {@code true} if successful.
+     */
+    private boolean addToStaticSet(GameObject object) {
+        if (staticSet.add(object)) {
+            object.setState(EntityState.ACTIVE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Creates a static object that was materialized from {@link #staticStore}.
+     *
+     * @param id The identifier.
+     * @param position The position.
+     * @param type The type.
+     * @param direction The direction.
+     * @return The object.
+     */
+    private GameObject createStatic(int id, Position position, ObjectType type, ObjectDirection direction) {
+        return new GameObject(world.getContext(), id, position, type, direction, Optional.empty(), false);
     }
 
     /**
@@ -124,9 +190,13 @@ public final class GameObjectList extends EntityList<GameObject> {
     }
 
     /**
-     * Returns an iterator over all cache loaded objects.
+     * Returns an iterator over all cache loaded objects. <strong>Warning:</strong> This materializes every static
+     * object that is still in compact form.
      */
     public UnmodifiableIterator<GameObject> staticIterator() {
+        for (GameObject object : staticStore.materializeAll(this::createStatic)) {
+            addToStaticSet(object);
+        }
         return Iterators.unmodifiableIterator(staticSet.iterator());
     }
 }
\ No newline at end of file
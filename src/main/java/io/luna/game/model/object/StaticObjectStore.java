@@ -0,0 +1,251 @@
+package io.luna.game.model.object;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.RegionPosition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A compact store for static objects loaded from the map. Each object is packed into a single {@code long} within a
+ * sorted array for its region, keyed by tile, so that a full map worth of objects doesn't need a {@link GameObject}
+ * and a set entry for each one. Objects are only materialized into {@link GameObject}s when they're removed from the
+ * store, after which {@link GameObjectList} tracks them like any other registered object.
+ * <p>
+ * The upper 32 bits of an entry hold the tile, and the lower 32 bits hold the identifier, type, and direction.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class StaticObjectStore {
+
+    /**
+     * A function that creates objects from their unpacked fields.
+     *
+     * @param <T> The type of the objects.
+     */
+    @FunctionalInterface
+    interface ObjectFactory<T> {
+
+        /**
+         * Creates an object.
+         *
+         * @param id The identifier.
+         * @param position The position.
+         * @param type The type.
+         * @param direction The direction.
+         * @return The object.
+         */
+        T create(int id, Position position, ObjectType type, ObjectDirection direction);
+    }
+
+    /**
+     * The packed objects within a single region.
+     */
+    private static final class RegionObjects {
+
+        /**
+         * The region position.
+         */
+        private final RegionPosition position;
+
+        /**
+         * The packed entries.
+         */
+        private long[] entries = new long[16];
+
+        /**
+         * The amount of entries.
+         */
+        private int size;
+
+        /**
+         * If {@link #entries} is sorted.
+         */
+        private boolean sorted = true;
+
+        /**
+         * Creates a new {@link RegionObjects}.
+         *
+         * @param position The region position.
+         */
+        private RegionObjects(RegionPosition position) {
+            this.position = position;
+        }
+
+        /**
+         * Adds {@code entry}. The entries are sorted again on the next lookup.
+         *
+         * @param entry The packed entry.
+         */
+        private void add(long entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            if (size > 0 && entries[size - 1] > entry) {
+                sorted = false;
+            }
+            entries[size++] = entry;
+        }
+
+        /**
+         * Returns the index of the first entry on {@code tile} or a later tile.
+         *
+         * @param tile The tile.
+         * @return The index.
+         */
+        private int lowerBound(int tile) {
+            if (!sorted) {
+                Arrays.sort(entries, 0, size);
+                sorted = true;
+            }
+            long key = (long) tile << 32;
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The value of an entry that has been removed. Replacing the value keeps the entry on its tile, so the entries
+     * stay sorted by tile.
+     */
+    private static final int REMOVED = -1;
+
+    /**
+     * The object types, indexed by ordinal.
+     */
+    private static final ObjectType[] TYPES = ObjectType.values();
+
+    /**
+     * The object directions, indexed by ordinal.
+     */
+    private static final ObjectDirection[] DIRECTIONS = ObjectDirection.values();
+
+    /**
+     * The packed objects, per region.
+     */
+    private final Map<RegionPosition, RegionObjects> regions = new HashMap<>();
+
+    /**
+     * The amount of objects in this store.
+     */
+    private int size;
+
+    /**
+     * Adds a static object to this store.
+     *
+     * @param id The identifier.
+     * @param position The position.
+     * @param type The type.
+     * @param direction The direction.
+     */
+    void add(int id, Position position, ObjectType type, ObjectDirection direction) {
+        checkArgument(id >= 0 && id <= 0xFFFF, "id out of range");
+        checkArgument(position.getZ() >= 0 && position.getZ() <= 3, "z out of range");
+        RegionPosition regionPosition = position.getRegionPosition();
+        int value = id << 7 | type.ordinal() << 2 | direction.ordinal();
+        regions.computeIfAbsent(regionPosition, RegionObjects::new).
+                add((long) tile(regionPosition, position) << 32 | value);
+        size++;
+    }
+
+    /**
+     * Removes every object on {@code position} from this store, and materializes them.
+     *
+     * @param position The position.
+     * @param factory The function that creates the objects.
+     * @param <T> The type of the objects.
+     * @return The materialized objects.
+     */
+    <T> List<T> materialize(Position position, ObjectFactory<T> factory) {
+        RegionPosition regionPosition = position.getRegionPosition();
+        RegionObjects region = regions.get(regionPosition);
+        if (region == null) {
+            return List.of();
+        }
+        int tile = tile(regionPosition, position);
+        List<T> objects = new ArrayList<>(2);
+        for (int index = region.lowerBound(tile); index < region.size; index++) {
+            long entry = region.entries[index];
+            if ((int) (entry >>> 32) != tile) {
+                break;
+            }
+            if ((int) entry != REMOVED) {
+                objects.add(create(factory, position, (int) entry));
+                region.entries[index] = entry | 0xFFFFFFFFL;
+                size--;
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Removes every object from this store, and materializes them.
+     *
+     * @param factory The function that creates the objects.
+     * @param <T> The type of the objects.
+     * @return The materialized objects.
+     */
+    <T> List<T> materializeAll(ObjectFactory<T> factory) {
+        List<T> objects = new ArrayList<>(size);
+        for (RegionObjects region : regions.values()) {
+            int baseX = region.position.getX() * RegionPosition.SIZE;
+            int baseY = region.position.getY() * RegionPosition.SIZE;
+            for (int index = 0; index < region.size; index++) {
+                long entry = region.entries[index];
+                if ((int) entry != REMOVED) {
+                    int tile = (int) (entry >>> 32);
+                    Position position = new Position(baseX + (tile >> 6 & 63), baseY + (tile & 63), tile >> 12);
+                    objects.add(create(factory, position, (int) entry));
+                }
+            }
+        }
+        regions.clear();
+        size = 0;
+        return objects;
+    }
+
+    /**
+     * @return The amount of objects in this store.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Creates an object from a packed value.
+     *
+     * @param factory The function that creates the object.
+     * @param position The position.
+     * @param value The packed value.
+     * @param <T> The type of the object.
+     * @return The object.
+     */
+    private <T> T create(ObjectFactory<T> factory, Position position, int value) {
+        return factory.create(value >>> 7, position, TYPES[value >> 2 & 31], DIRECTIONS[value & 3]);
+    }
+
+    /**
+     * Computes the tile key of {@code position} within a region.
+     *
+     * @param regionPosition The region position.
+     * @param position The position.
+     * @return The tile key.
+     */
+    private int tile(RegionPosition regionPosition, Position position) {
+        return position.getZ() << 12 | regionPosition.getLocalX(position) << 6 | regionPosition.getLocalY(position);
+    }
+}
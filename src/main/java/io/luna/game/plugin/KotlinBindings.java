@@ -9,6 +9,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A model representing values that will be reflectively injected into the Kotlin scripting API.
@@ -42,6 +43,11 @@ public final class KotlinBindings {
      */
     private final EventListenerPipelineSet pipelines = new EventListenerPipelineSet();
 
+    /**
+     * Functions invoked when a script is unloaded, to remove any state it registered outside of the pipelines.
+     */
+    private final List<Consumer<RuntimeScript>> unloadHooks = new ArrayList<>();
+
     /**
      * Creates a new {@link KotlinBindings}.
      *
@@ -85,4 +91,11 @@ public final class KotlinBindings {
     public EventListenerPipelineSet getPipelines() {
         return pipelines;
     }
+
+    /**
+     * @return Functions invoked when a script is unloaded.
+     */
+    public List<Consumer<RuntimeScript>> getUnloadHooks() {
+        return unloadHooks;
+    }
 }
\ No newline at end of file
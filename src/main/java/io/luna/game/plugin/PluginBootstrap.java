@@ -1,7 +1,10 @@
 package io.luna.game.plugin;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
 import io.luna.LunaContext;
 import io.luna.game.event.EventListener;
@@ -10,8 +13,27 @@ import io.luna.game.event.EventMatcherListener;
 import kotlin.script.templates.standard.ScriptTemplateWithArgs;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
  * A bootstrapper that loads and runs all Kotlin plugins.
@@ -20,6 +42,47 @@ import java.util.ArrayList;
  */
 public final class PluginBootstrap {
 
+    /**
+     * A compiled script that has been loaded, along with the class file it was loaded from.
+     */
+    private static final class LoadedScript {
+
+        /**
+         * The runtime script.
+         */
+        private final RuntimeScript script;
+
+        /**
+         * The classpath directory the script was loaded from.
+         */
+        private final Path root;
+
+        /**
+         * The script's class file.
+         */
+        private final Path classFile;
+
+        /**
+         * The last modified time of the class file when it was loaded.
+         */
+        private final FileTime lastModified;
+
+        /**
+         * Creates a new {@link LoadedScript}.
+         *
+         * @param script The runtime script.
+         * @param root The classpath directory the script was loaded from.
+         * @param classFile The script's class file.
+         * @param lastModified The last modified time of the class file when it was loaded.
+         */
+        private LoadedScript(RuntimeScript script, Path root, Path classFile, FileTime lastModified) {
+            this.script = script;
+            this.root = root;
+            this.classFile = classFile;
+            this.lastModified = lastModified;
+        }
+    }
+
     /**
      * Creates and sets the global Kotlin bindings. Is only set once.
      *
@@ -34,6 +97,16 @@ public final class PluginBootstrap {
      */
     private static final Logger logger = LogManager.getLogger();
 
+    /**
+     * The plugin index resource, listing the class names of all compiled scripts. Generated at build time.
+     */
+    private static final String INDEX = "META-INF/luna/plugins.idx";
+
+    /**
+     * The class that all compiled scripts extend.
+     */
+    private static final String SCRIPT_CLASS = "kotlin.script.templates.standard.ScriptTemplateWithArgs";
+
     /**
      * The bindings. Has to be global in order for Kotlin scripts to access it.
      */
@@ -44,6 +117,11 @@ public final class PluginBootstrap {
      */
     private final LunaContext context;
 
+    /**
+     * The loaded scripts, keyed by class name. Only accessed on the game thread after startup.
+     */
+    private final Map<String, LoadedScript> loadedScripts = new LinkedHashMap<>();
+
     /**
      * Creates a new {@link PluginBootstrap}.
      *
@@ -68,51 +146,278 @@ public final class PluginBootstrap {
         EventListenerPipelineSet oldPipelines = pluginManager.getPipelines();
         EventListenerPipelineSet newPipelines = bindings.getPipelines();
         gameService.sync(() -> oldPipelines.replaceAll(newPipelines));
+        pluginManager.setBootstrap(this);
         return pluginCount;
     }
 
     /**
-     * Searches the classpath for scripts and loads them.
+     * Reloads every script whose class file changed since it was loaded. Changed scripts are read from disk on a
+     * worker thread, then reinstantiated and have their listeners swapped in on the game thread in a single tick. The
+     * rest of the scripts are left untouched, and the classpath is not rescanned.
+     * <p>
+     * Scripts that were added after startup are not picked up, and {@code ServerLaunchEvent} listeners in reloaded
+     * scripts do not run again.
+     * <p>
+     * Only event listeners, matcher actions (including {@code useItem}), and state removed by unload hooks are undone
+     * when a script is reloaded. Reloading is unsupported for scripts that register anything else, such as areas,
+     * shops, or spawned entities, as those registrations will be made twice.
+     *
+     * @return The names of the reloaded scripts.
+     */
+    ListenableFuture<ImmutableList<String>> reloadChanged() {
+        var gameService = context.getGame();
+        var result = SettableFuture.<ImmutableList<String>>create();
+        gameService.sync(() -> {
+            // Take a snapshot of the loaded scripts on the game thread, then check them for changes off of it.
+            var snapshot = ImmutableList.copyOf(loadedScripts.values());
+            gameService.submit(() -> {
+                try {
+                    var newClasses = loadChanged(snapshot);
+                    gameService.sync(() -> {
+                        var reloaded = ImmutableList.<String>builder();
+                        newClasses.forEach((loaded, scriptClass) -> {
+                            if (reloadScript(loaded, scriptClass)) {
+                                reloaded.add(loaded.script.getName());
+                            }
+                        });
+                        result.set(reloaded.build());
+                    });
+                } catch (Exception e) {
+                    result.setException(e);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Loads new classes for the scripts that have changed. The classes are defined here so the game thread only has
+     * to run the scripts.
+     *
+     * @param scripts The scripts to check.
+     * @return The new script classes, keyed by the script they replace.
+     * @throws IOException If a class file can't be read.
+     * @throws ClassNotFoundException If a class file was deleted.
+     */
+    private Map<LoadedScript, Class<? extends ScriptTemplateWithArgs>> loadChanged(List<LoadedScript> scripts)
+            throws IOException, ClassNotFoundException {
+        var changed = findChanged(scripts);
+        var roots = new HashMap<String, Path>();
+        changed.forEach(loaded -> roots.put(loaded.script.getName(), loaded.root));
+
+        var classLoader = new ScriptClassLoader(PluginBootstrap.class.getClassLoader(), roots);
+        var newClasses = new LinkedHashMap<LoadedScript, Class<? extends ScriptTemplateWithArgs>>();
+        for (LoadedScript loaded : changed) {
+            String name = loaded.script.getName();
+            newClasses.put(loaded, classLoader.loadClass(name).asSubclass(ScriptTemplateWithArgs.class));
+        }
+        return newClasses;
+    }
+
+    /**
+     * Determines which scripts have changed since they were loaded.
+     *
+     * @param scripts The scripts to check.
+     * @return The changed scripts.
+     * @throws IOException If a class file can't be read.
+     */
+    private ImmutableList<LoadedScript> findChanged(List<LoadedScript> scripts) throws IOException {
+        var changed = ImmutableList.<LoadedScript>builder();
+        for (LoadedScript loaded : scripts) {
+            if (Files.exists(loaded.classFile) &&
+                    !Files.getLastModifiedTime(loaded.classFile).equals(loaded.lastModified)) {
+                changed.add(loaded);
+            }
+        }
+        return changed.build();
+    }
+
+    /**
+     * Reinstantiates a single script and atomically replaces its listeners. If the new script fails to run, the old
+     * listeners are kept. Must be called on the game thread.
+     *
+     * @param loaded The currently loaded script.
+     * @param scriptClass The new script class.
+     * @return {@code true} if the script was reloaded.
+     */
+    private boolean reloadScript(LoadedScript loaded, Class<? extends ScriptTemplateWithArgs> scriptClass) {
+        var oldScript = loaded.script;
+        String name = oldScript.getName();
+        RuntimeScript newScript;
+        FileTime lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(loaded.classFile);
+            newScript = new RuntimeScript(name, instantiate(scriptClass));
+        } catch (Exception e) {
+            // Discard anything the broken script managed to register.
+            var failedScript = new RuntimeScript(name, null);
+            bindings.getMatchers().forEach(listener -> listener.setScript(failedScript));
+            bindings.getUnloadHooks().forEach(hook -> hook.accept(failedScript));
+            bindings.getMatchers().clear();
+            bindings.getListeners().clear();
+            logger.error(new ParameterizedMessage("Could not reload script '{}'.", name), e);
+            return false;
+        }
+
+        // Swap the old listeners for the new ones.
+        var pipelines = context.getPlugins().getPipelines();
+        int removed = 0;
+        for (var pipeline : pipelines) {
+            removed += pipeline.removeIf(listener -> listener.getScript() == oldScript);
+        }
+        bindings.getUnloadHooks().forEach(hook -> hook.accept(oldScript));
+        int added = bindings.getListeners().size();
+        initScript(newScript, pipelines);
+
+        loadedScripts.put(name, new LoadedScript(newScript, loaded.root, loaded.classFile, lastModified));
+        logger.info("Reloaded script '{}' ({} listeners removed, {} added).", name, box(removed), box(added));
+        return true;
+    }
+
+    /**
+     * Loads and runs all compiled scripts listed in the plugin index. If the index is missing, the classpath is
+     * scanned for scripts instead.
      *
      * @return The amount of plugins loaded.
      * @throws ReflectiveOperationException If an error occurs while instancing plugins.
      */
     private int loadPlugins() throws ReflectiveOperationException {
-        var compiledScripts = new ArrayList<ClassInfo>();
-        var buildScripts = new ArrayList<ClassInfo>();
+        var compiledScripts = new ArrayList<String>();
+        var buildScripts = new ArrayList<String>();
+        for (String name : findScripts()) {
+            if (name.endsWith(".Build_plugin") || name.equals("Build_plugin")) {
+                buildScripts.add(name);
+            } else {
+                compiledScripts.add(name);
+            }
+        }
+        // TODO Link build scripts with compiled scripts
+        // TODO Only initialize script if its plugin script/metadata was loaded
+        // TODO Retrieve proper script data from metadata
+
+        // Load the script classes in parallel, they don't depend on each other.
+        var scriptClasses = compiledScripts.parallelStream().
+                map(this::loadScriptClass).
+                collect(Collectors.toList());
+
+        // Run all compiled scripts. This has to be done one at a time, listeners are registered through the bindings.
+        var initTimes = new HashMap<String, Long>();
+        Stopwatch totalTimer = Stopwatch.createStarted();
+        for (Class<? extends ScriptTemplateWithArgs> scriptClass : scriptClasses) {
+            Stopwatch scriptTimer = Stopwatch.createStarted();
+            RuntimeScript script = new RuntimeScript(scriptClass.getName(), instantiate(scriptClass));
+            initScript(script, bindings.getPipelines());
+            trackScript(script);
+
+            long elapsed = scriptTimer.elapsed(TimeUnit.MICROSECONDS);
+            initTimes.put(script.getName(), elapsed);
+            logger.trace("Initialized script '{}' in {}us.", script.getName(), box(elapsed));
+        }
+        logger.debug("{} compiled Kotlin scripts have been initialized in {}ms.", box(compiledScripts.size()),
+                box(totalTimer.elapsed(TimeUnit.MILLISECONDS)));
+        initTimes.entrySet().stream().
+                sorted(Map.Entry.<String, Long>comparingByValue().reversed()).
+                limit(5).
+                forEach(entry -> logger.debug("Slow script '{}' took {}us.", entry.getKey(), entry.getValue()));
+        return buildScripts.size();
+    }
+
+    /**
+     * Retrieves the names of all compiled scripts from the plugin index written by the {@code generatePluginIndex}
+     * Gradle task. If there is no index, the classpath is scanned instead.
+     *
+     * @return The script class names.
+     */
+    private List<String> findScripts() {
+        var classLoader = PluginBootstrap.class.getClassLoader();
+        try (InputStream in = classLoader.getResourceAsStream(INDEX)) {
+            if (in != null) {
+                var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                return reader.lines().
+                        map(String::trim).
+                        filter(line -> !line.isEmpty() && !line.startsWith("#")).
+                        collect(Collectors.toList());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read the plugin index.", e);
+        }
 
         // Search classpath for compiled scripts.
+        logger.warn("Plugin index not found, scanning the classpath for scripts. Run 'gradle generatePluginIndex' " +
+                "to speed up startup.");
         try (ScanResult result = new ClassGraph().enableClassInfo().disableJarScanning().scan()) {
-            for (ClassInfo script : result.getSubclasses("kotlin.script.templates.standard.ScriptTemplateWithArgs")) {
-                if (script.getSimpleName().equals("Build_plugin")) {
-                    buildScripts.add(script);
-                } else {
-                    compiledScripts.add(script);
-                }
-            }
-            // TODO Link build scripts with compiled scripts
-            // TODO Only initialize script if its plugin script/metadata was loaded
-            // TODO Retrieve proper script data from metadata
-
-            // Run all compiled scripts.
-            var scriptArgs = new String[0];
-            for (ClassInfo scriptInfo : compiledScripts) {
-                Class<ScriptTemplateWithArgs> scriptClass = scriptInfo.loadClass(ScriptTemplateWithArgs.class);
-                ScriptTemplateWithArgs scriptInstance = scriptClass.getConstructor(String[].class).newInstance((Object) scriptArgs);
-
-                RuntimeScript script = new RuntimeScript(scriptInfo, scriptInstance);
-                for (EventListener<?> listener : bindings.getListeners()) {
-                    listener.setScript(script);
-                    bindings.getPipelines().add(listener);
-                }
-                for (EventMatcherListener<?> listener : bindings.getMatchers()) {
-                    listener.setScript(script);
-                }
-                bindings.getMatchers().clear();
-                bindings.getListeners().clear();
+            return result.getSubclasses(SCRIPT_CLASS).getNames();
+        }
+    }
+
+    /**
+     * Loads a compiled script class without initializing it.
+     *
+     * @param name The class name.
+     * @return The script class.
+     */
+    private Class<? extends ScriptTemplateWithArgs> loadScriptClass(String name) {
+        try {
+            var scriptClass = Class.forName(name, false, PluginBootstrap.class.getClassLoader());
+            return scriptClass.asSubclass(ScriptTemplateWithArgs.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Script '" + name + "' is in the plugin index, but was not found. " +
+                    "Try regenerating the index.", e);
+        }
+    }
+
+    /**
+     * Creates a new instance of a compiled script, running it.
+     *
+     * @param scriptClass The script class.
+     * @return The script instance.
+     * @throws ReflectiveOperationException If an error occurs while instancing the script.
+     */
+    private ScriptTemplateWithArgs instantiate(Class<? extends ScriptTemplateWithArgs> scriptClass)
+            throws ReflectiveOperationException {
+        var scriptArgs = new String[0];
+        return scriptClass.getConstructor(String[].class).newInstance((Object) scriptArgs);
+    }
+
+    /**
+     * Assigns {@code script} to the listeners it just registered, and adds them to {@code pipelines}.
+     *
+     * @param script The script that was just instantiated.
+     * @param pipelines The pipelines to add the listeners to.
+     */
+    private void initScript(RuntimeScript script, EventListenerPipelineSet pipelines) {
+        for (EventListener<?> listener : bindings.getListeners()) {
+            listener.setScript(script);
+            pipelines.add(listener);
+        }
+        for (EventMatcherListener<?> listener : bindings.getMatchers()) {
+            listener.setScript(script);
+        }
+        bindings.getMatchers().clear();
+        bindings.getListeners().clear();
+    }
+
+    /**
+     * Records where {@code script} was loaded from, so it can be reloaded if it changes. Scripts loaded from a jar
+     * can't be reloaded.
+     *
+     * @param script The script.
+     */
+    private void trackScript(RuntimeScript script) {
+        String name = script.getName();
+        URL resource = PluginBootstrap.class.getClassLoader().getResource(name.replace('.', '/') + ".class");
+        if (resource == null || !resource.getProtocol().equals("file")) {
+            return;
+        }
+        try {
+            Path classFile = Path.of(resource.toURI());
+            Path root = classFile;
+            for (int count = name.split("\\.").length; count > 0; count--) {
+                root = root.getParent();
             }
+            loadedScripts.put(name, new LoadedScript(script, root, classFile, Files.getLastModifiedTime(classFile)));
+        } catch (IOException | URISyntaxException e) {
+            logger.warn(new ParameterizedMessage("Script '{}' will not be reloadable.", name), e);
         }
-        logger.debug("{} compiled Kotlin scripts have been initialized.", compiledScripts.size());
-        return buildScripts.size();
     }
 }
@@ -1,10 +1,14 @@
 package io.luna.game.plugin;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.luna.LunaContext;
 import io.luna.game.event.Event;
 import io.luna.game.event.EventListenerPipeline;
 import io.luna.game.event.EventListenerPipelineSet;
 
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * A model that acts as a bridge between interpreted Kotlin code and compiled Java code.
  *
@@ -22,6 +26,11 @@ public final class PluginManager {
      */
     private final LunaContext context;
 
+    /**
+     * The bootstrapper that loaded the plugins.
+     */
+    private PluginBootstrap bootstrap;
+
     /**
      * Creates a new {@link PluginManager}.
      *
@@ -32,19 +41,39 @@ public final class PluginManager {
     }
 
     /**
-     * Traverses the event across its designated pipeline.
+     * Traverses the event across its designated pipeline. Events without any listeners return immediately.
      *
      * @param msg The event to post.
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     public void post(Event msg) {
-        EventListenerPipeline pipeline = pipelines.get(msg.getClass());
-        if (pipeline == null) {
+        EventListenerPipeline pipeline = pipelines.lookup(msg.getClass());
+        if (pipeline == null || pipeline.isEmpty()) {
             return;
         }
         pipeline.post(msg);
     }
 
+    /**
+     * Reloads every script whose compiled class changed since it was loaded, without rescanning the classpath or
+     * touching the listeners of any other script. Listeners are swapped at the start of a tick.
+     *
+     * @return The names of the reloaded scripts.
+     */
+    public ListenableFuture<ImmutableList<String>> reloadChanged() {
+        checkState(bootstrap != null, "Plugins have not been loaded yet.");
+        return bootstrap.reloadChanged();
+    }
+
+    /**
+     * Sets the bootstrapper that loaded the plugins.
+     *
+     * @param newBootstrap The bootstrapper.
+     */
+    void setBootstrap(PluginBootstrap newBootstrap) {
+        bootstrap = newBootstrap;
+    }
+
     /**
      * @return The context instance.
      */
@@ -1,6 +1,5 @@
 package io.luna.game.plugin;
 
-import io.github.classgraph.ClassInfo;
 import kotlin.script.templates.standard.ScriptTemplateWithArgs;
 
 import java.util.Objects;
@@ -13,9 +12,9 @@ import java.util.Objects;
 public final class RuntimeScript {
 
     /**
-     * The runtime information about the script.
+     * The fully qualified class name of the script.
      */
-    private final ClassInfo info;
+    private final String name;
 
     /**
      * The script template. Essentially a runtime instance of the script itself.
@@ -25,11 +24,11 @@ public final class RuntimeScript {
     /**
      * Creates a new {@link RuntimeScript}.
      *
-     * @param info The runtime information about the script.
+     * @param name The fully qualified class name of the script.
      * @param script The script template.
      */
-    public RuntimeScript(ClassInfo info, ScriptTemplateWithArgs script) {
-      this.info = info;
+    public RuntimeScript(String name, ScriptTemplateWithArgs script) {
+      this.name = name;
       this.script = script;
     }
 
@@ -40,21 +39,21 @@ public final class RuntimeScript {
         }
         if (obj instanceof RuntimeScript) {
             RuntimeScript other = (RuntimeScript) obj;
-            return info.getName().equals(other.info.getName());
+            return name.equals(other.name);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(info.getName());
+        return Objects.hash(name);
     }
 
     /**
-     * @return The runtime information about the script.
+     * @return The fully qualified class name of the script.
      */
-    public ClassInfo getInfo() {
-        return info;
+    public String getName() {
+        return name;
     }
 
     /**
@@ -0,0 +1,89 @@
+package io.luna.game.plugin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A {@link ClassLoader} that loads fresh copies of compiled scripts from disk, so they can be reinstantiated while the
+ * server is running. Only the classes of the scripts being reloaded (and their inner classes) are defined by this
+ * loader; everything else, including the plugin API, is delegated to the parent so reloaded scripts share state with
+ * the rest of the plugins.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ScriptClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    /**
+     * The classpath directories of the scripts being reloaded, keyed by script class name.
+     */
+    private final Map<String, Path> roots;
+
+    /**
+     * Creates a new {@link ScriptClassLoader}.
+     *
+     * @param parent The parent class loader.
+     * @param roots The classpath directories of the scripts being reloaded, keyed by script class name.
+     */
+    ScriptClassLoader(ClassLoader parent, Map<String, Path> roots) {
+        super(parent);
+        this.roots = roots;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        Path root = rootOf(name);
+        if (root == null) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                loaded = defineScriptClass(name, root);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Determines which script {@code name} belongs to.
+     *
+     * @param name The class name.
+     * @return The classpath directory of the script, or {@code null} if the class isn't part of a script being
+     * reloaded.
+     */
+    private Path rootOf(String name) {
+        int innerIndex = name.indexOf('$');
+        return roots.get(innerIndex == -1 ? name : name.substring(0, innerIndex));
+    }
+
+    /**
+     * Reads and defines a class from a classpath directory.
+     *
+     * @param name The class name.
+     * @param root The classpath directory.
+     * @return The class.
+     * @throws ClassNotFoundException If the class file doesn't exist.
+     */
+    private Class<?> defineScriptClass(String name, Path root) throws ClassNotFoundException {
+        Path classFile = root.resolve(name.replace('.', '/') + ".class");
+        if (!Files.exists(classFile)) {
+            throw new ClassNotFoundException(name);
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(classFile);
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
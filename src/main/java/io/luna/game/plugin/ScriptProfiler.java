@@ -0,0 +1,228 @@
+package io.luna.game.plugin;
+
+import com.google.common.collect.ImmutableList;
+import io.luna.game.event.Event;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes listener execution time and invocation counts to the script and event type that caused them, so slow
+ * scripts can be found when the tick starts running long. Profiling is disabled by default, and costs a single
+ * volatile read per listener invocation while disabled.
+ * <p>
+ * Times are wall clock times measured around each listener. Listeners run on the game thread and should never block,
+ * so this closely tracks the CPU time spent in each script.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ScriptProfiler {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * How often a report is logged while profiling is enabled, in ticks.
+     */
+    private static final int REPORT_INTERVAL = 100;
+
+    /**
+     * The amount of entries included in each report.
+     */
+    private static final int REPORT_SIZE = 10;
+
+    /**
+     * The time spent within a single script, for a single event type.
+     */
+    public static final class Timing {
+
+        /**
+         * The script name.
+         */
+        private final String script;
+
+        /**
+         * The event type.
+         */
+        private final Class<?> eventType;
+
+        /**
+         * The amount of invocations.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The total time spent, in nanoseconds.
+         */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /**
+         * The longest invocation, in nanoseconds.
+         */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /**
+         * Creates a new {@link Timing}.
+         *
+         * @param script The script name.
+         * @param eventType The event type.
+         */
+        private Timing(String script, Class<?> eventType) {
+            this.script = script;
+            this.eventType = eventType;
+        }
+
+        @Override
+        public String toString() {
+            long calls = count.sum();
+            long total = totalNanos.sum();
+            return String.format("%s [%s] calls=%d, total=%dms, mean=%dus, max=%dus", script,
+                    eventType.getSimpleName(), calls, TimeUnit.NANOSECONDS.toMillis(total),
+                    calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / calls),
+                    TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+        }
+
+        /**
+         * Records a single invocation measured from {@code startNanos} until now.
+         *
+         * @param startNanos The start time, from {@link System#nanoTime()}.
+         */
+        public void recordSince(long startNanos) {
+            long nanos = System.nanoTime() - startNanos;
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Clears all recorded invocations.
+         */
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+
+        /**
+         * @return The script name.
+         */
+        public String getScript() {
+            return script;
+        }
+
+        /**
+         * @return The event type.
+         */
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
+        /**
+         * @return The amount of invocations.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return The total time spent, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    /**
+     * The timings, keyed by script name and event type.
+     */
+    private static final ConcurrentMap<String, Timing> timings = new ConcurrentHashMap<>();
+
+    /**
+     * If profiling is enabled.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * The amount of ticks since the last report.
+     */
+    private static int ticksSinceReport;
+
+    /**
+     * Retrieves the timing for {@code script} and {@code eventType}, creating it if needed. Listeners should cache the
+     * returned value.
+     *
+     * @param script The script, possibly {@code null}.
+     * @param eventType The event type.
+     * @return The timing.
+     */
+    public static Timing timing(RuntimeScript script, Class<? extends Event> eventType) {
+        String scriptName = script == null ? "<unknown>" : script.getName();
+        return timings.computeIfAbsent(scriptName + '/' + eventType.getName(), key -> new Timing(scriptName, eventType));
+    }
+
+    /**
+     * Logs a report every {@link #REPORT_INTERVAL} ticks while profiling is enabled. Invoked by the game thread every
+     * tick.
+     */
+    public static void tick() {
+        if (enabled && ++ticksSinceReport >= REPORT_INTERVAL) {
+            ticksSinceReport = 0;
+            var report = report();
+            if (!report.isEmpty()) {
+                logger.info("Slowest plugin listeners over the last {} ticks:", REPORT_INTERVAL);
+                report.forEach(logger::info);
+            }
+            reset();
+        }
+    }
+
+    /**
+     * Builds a report of the timings with the most total time spent.
+     *
+     * @return The timings, slowest first.
+     */
+    public static ImmutableList<Timing> report() {
+        return timings.values().stream().
+                filter(timing -> timing.getCount() > 0).
+                sorted(Comparator.comparingLong(Timing::getTotalNanos).reversed()).
+                limit(REPORT_SIZE).
+                collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Clears all recorded invocations.
+     */
+    public static void reset() {
+        timings.values().forEach(Timing::reset);
+    }
+
+    /**
+     * Enables or disables profiling.
+     *
+     * @param newEnabled The new value.
+     */
+    public static void setEnabled(boolean newEnabled) {
+        enabled = newEnabled;
+    }
+
+    /**
+     * @return {@code true} if profiling is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Prevent instantiation.
+     */
+    private ScriptProfiler() {
+    }
+}
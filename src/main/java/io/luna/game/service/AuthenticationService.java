@@ -7,7 +7,10 @@ import io.luna.game.model.mob.persistence.PlayerPersistence;
 import io.luna.util.ExecutorUtils;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An {@link AbstractIdleService} implementation that manages threads for persistence based services, required for logging in
@@ -24,7 +27,7 @@ abstract class AuthenticationService<T> extends AbstractIdleService {
     static final PlayerPersistence PERSISTENCE = new PlayerPersistence();
 
     /**
-     * The amount of requests to service per tick.
+     * The default amount of requests to service per tick.
      */
     static final int REQUESTS_THRESHOLD = 50;
 
@@ -43,6 +46,17 @@ abstract class AuthenticationService<T> extends AbstractIdleService {
      */
     final Map<String, T> pending = new ConcurrentHashMap<>();
 
+    /**
+     * The usernames of pending requests, keyed by their ticket. Requests are finished in ticket order, which is the
+     * order they were added in unless a ticket was reserved.
+     */
+    private final NavigableMap<Long, String> pendingOrder = new ConcurrentSkipListMap<>();
+
+    /**
+     * The next ticket to hand out.
+     */
+    private final AtomicLong nextTicket = new AtomicLong();
+
     /**
      * Creates a new {@link AuthenticationService}.
      *
@@ -59,24 +73,94 @@ abstract class AuthenticationService<T> extends AbstractIdleService {
     }
 
     /**
-     * Iterates the set of pending requests and finishes them.
+     * Finishes up to {@link #requestsPerTick()} pending requests, in the order they were added. Requests that cannot
+     * be finished yet are moved to the back of the queue.
      */
     public final void finishRequests() {
         if (state() == State.RUNNING) {
-            var iterator = pending.entrySet().iterator();
-            for (int loop = 0; loop < REQUESTS_THRESHOLD; loop++) {
-                if (!iterator.hasNext()) {
+            int limit = requestsPerTick();
+            for (int loop = 0; loop < limit; loop++) {
+                var next = pendingOrder.pollFirstEntry();
+                if (next == null) {
                     break;
                 }
-                var next = iterator.next();
-                String username = next.getKey();
-                T request = next.getValue();
+                String username = next.getValue();
+                T request = pending.get(username);
+                if (request == null) {
+                    continue;
+                }
                 if (canFinishRequest(username, request)) {
+                    pending.remove(username);
                     finishRequest(username, request);
-                    iterator.remove();
+                } else {
+                    pendingOrder.put(nextTicket(), username);
                 }
             }
+            postFinishRequests();
+        }
+    }
+
+    /**
+     * Adds a request to the pending set, to be finished on the game thread.
+     *
+     * @param username The username.
+     * @param request The request.
+     * @return {@code true} if the request was added, {@code false} if a request for {@code username} is already pending.
+     */
+    final boolean enqueue(String username, T request) {
+        return enqueue(username, request, nextTicket());
+    }
+
+    /**
+     * Adds a request to the pending set with a specific ticket. Requests with lower tickets are finished first.
+     *
+     * @param username The username.
+     * @param request The request.
+     * @param ticket The ticket.
+     * @return {@code true} if the request was added, {@code false} if a request for {@code username} is already pending.
+     */
+    final boolean enqueue(String username, T request, long ticket) {
+        if (pending.putIfAbsent(username, request) == null) {
+            pendingOrder.put(ticket, username);
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Removes a pending request before it's finished.
+     *
+     * @param username The username.
+     * @param ticket The ticket the request was added with.
+     * @return {@code true} if the request was removed.
+     */
+    final boolean cancel(String username, long ticket) {
+        if (pendingOrder.remove(ticket, username)) {
+            pending.remove(username);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return A new ticket, greater than all tickets handed out before it.
+     */
+    final long nextTicket() {
+        return nextTicket.getAndIncrement();
+    }
+
+    /**
+     * @return A live view of pending usernames keyed by ticket, in the order they will be finished.
+     */
+    final NavigableMap<Long, String> pendingOrder() {
+        return pendingOrder;
+    }
+
+    /**
+     * @return The amount of pending requests.
+     */
+    public final int getPendingCount() {
+        return pending.size();
     }
 
     /**
@@ -100,6 +184,20 @@ abstract class AuthenticationService<T> extends AbstractIdleService {
         }
     }
 
+    /**
+     * Determines how many pending requests can be finished per tick. By default this is {@link #REQUESTS_THRESHOLD}.
+     */
+    int requestsPerTick() {
+        return REQUESTS_THRESHOLD;
+    }
+
+    /**
+     * Invoked on the game thread after each call to {@link #finishRequests()}. Does nothing by default.
+     */
+    void postFinishRequests() {
+
+    }
+
     /**
      * Invoked before the request is added to the pending set. This function must make an attempt to add the request to
      * the pending set, either in the calling thread or another thread.
@@ -1,6 +1,7 @@
 package io.luna.game.service;
 
 import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -10,6 +11,7 @@ import io.luna.game.event.impl.ServerLaunchEvent;
 import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
 import io.luna.game.plugin.PluginManager;
+import io.luna.game.plugin.ScriptProfiler;
 import io.luna.game.task.Task;
 import io.luna.net.msg.out.SystemUpdateMessageWriter;
 import io.luna.util.ExecutorUtils;
@@ -21,6 +23,7 @@ import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static io.luna.util.ThreadUtils.awaitTerminationUninterruptibly;
@@ -86,6 +89,16 @@ public final class GameService extends AbstractScheduledService {
      */
     private static final Logger logger = LogManager.getLogger();
 
+    /**
+     * The amount of workers in the I/O pool.
+     */
+    private static final int IO_THREADS = 4;
+
+    /**
+     * The maximum amount of tasks that can wait for an I/O worker.
+     */
+    private static final int IO_QUEUE_CAPACITY = 4096;
+
     /**
      * A queue of synchronization tasks.
      */
@@ -111,6 +124,11 @@ public final class GameService extends AbstractScheduledService {
      */
     private final ListeningExecutorService fastPool;
 
+    /**
+     * A bounded thread pool for blocking I/O tasks, such as file writes from plugins.
+     */
+    private final ListeningExecutorService ioPool;
+
     /**
      * Creates a new {@link GameService}.
      *
@@ -120,6 +138,7 @@ public final class GameService extends AbstractScheduledService {
         this.context = context;
         world = context.getWorld();
         fastPool = ExecutorUtils.threadPool(serviceName() + "Worker");
+        ioPool = ExecutorUtils.boundedThreadPool(serviceName() + "IoWorker", IO_THREADS, IO_QUEUE_CAPACITY);
         addListener(new GameServiceListener(), MoreExecutors.directExecutor());
     }
 
@@ -131,6 +150,9 @@ public final class GameService extends AbstractScheduledService {
 
             // Run the main game loop.
             world.loop();
+
+            // Report slow plugin listeners, if enabled.
+            ScriptProfiler.tick();
         } catch (Exception e) {
             logger.catching(e);
         }
@@ -195,9 +217,11 @@ public final class GameService extends AbstractScheduledService {
         // Wait for the disconnected players to be saved.
         logoutService.stopAsync().awaitTerminated();
 
-        // Wait for general-purpose tasks to complete.
+        // Wait for general-purpose and I/O tasks to complete.
         fastPool.shutdown();
+        ioPool.shutdown();
         awaitTerminationUninterruptibly(fastPool);
+        awaitTerminationUninterruptibly(ioPool);
     }
 
     /**
@@ -257,6 +281,24 @@ public final class GameService extends AbstractScheduledService {
         });
     }
 
+    /**
+     * Runs a result-bearing task that may block on I/O, such as a file or database write. Tasks run on a small
+     * dedicated pool so they never hold up the game thread or general-purpose tasks. If too many tasks are already
+     * waiting, the returned future fails with a {@link RejectedExecutionException}.
+     * <p>
+     * Use {@link #getExecutor()} or {@link #sync(Runnable)} to hand results back to the game thread.
+     *
+     * @param t The task to run.
+     * @return The result of {@code t}.
+     */
+    public <T> ListenableFuture<T> submitIo(Callable<T> t) {
+        try {
+            return ioPool.submit(t);
+        } catch (RejectedExecutionException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
     /**
      * @return The context instance.
      */
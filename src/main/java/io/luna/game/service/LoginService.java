@@ -1,6 +1,10 @@
 package io.luna.game.service;
 
-import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.luna.Luna;
 import io.luna.game.model.EntityState;
 import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
@@ -9,15 +13,37 @@ import io.luna.game.service.LoginService.LoginRequest;
 import io.luna.net.client.LoginClient;
 import io.luna.net.codec.login.LoginRequestMessage;
 import io.luna.net.codec.login.LoginResponse;
+import io.luna.util.ExecutorUtils;
+import io.luna.util.LatencyHistogram;
+import io.luna.util.ThreadUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import static io.luna.util.ThreadUtils.awaitTerminationUninterruptibly;
 import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
- * A {@link AuthenticationService} implementation that handles login requests.
+ * A {@link AuthenticationService} implementation that handles login requests. Requests move through a pipeline of
+ * stages, each with its own concurrency limit:
+ * <ol>
+ *     <li><strong>decode</strong> The login request is decoded on the networking threads.</li>
+ *     <li><strong>load</strong> The player's data is loaded by the login workers.</li>
+ *     <li><strong>verify</strong> The player's credentials are checked by the verification workers.</li>
+ *     <li><strong>admit</strong> The request waits in a FIFO queue, and is added to the world on the game thread
+ *     at a rate of {@link #requestsPerTick()} per tick.</li>
+ * </ol>
+ * No stage blocks waiting on another, so slow loads never hold up credential checks and vice versa.
+ * <p>
+ * The admission queue is bounded. Clients can only wait for a login response for so long, so requests that have been
+ * queued for {@link #MAX_QUEUE_WAIT} are sent their estimated wait time using {@link LoginResponse#LOGIN_QUEUED}, and
+ * their place in the queue is reserved for when they automatically reconnect. This lets the server survive reconnect
+ * storms after a restart without clients timing out or the game thread being swamped.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -28,6 +54,60 @@ public final class LoginService extends AuthenticationService<LoginRequest> {
      */
     private static final Logger logger = LogManager.getLogger();
 
+    /**
+     * The maximum amount of concurrent credential verifications. BCrypt is CPU bound, so this is limited to half of the
+     * available processors to leave room for the game and networking threads.
+     */
+    private static final int VERIFY_THREADS = Math.max(1, ThreadUtils.cpuCount() / 2);
+
+    /**
+     * How long a request can wait for admission before the client is sent its queue position, in nanoseconds. Must be
+     * lower than the client's own 30 second timeout.
+     */
+    private static final long MAX_QUEUE_WAIT = TimeUnit.SECONDS.toNanos(20);
+
+    /**
+     * How long a reserved place in the queue is held after the client's countdown ends, in nanoseconds.
+     */
+    private static final long RESERVATION_GRACE = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * How often the admission queue is checked for requests that have waited too long, in ticks.
+     */
+    private static final int QUEUE_CHECK_INTERVAL = 5;
+
+    /**
+     * The capacity of the admission queue, used if one isn't configured.
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * A reserved place in the admission queue.
+     */
+    private static final class Reservation {
+
+        /**
+         * The reserved ticket.
+         */
+        private final long ticket;
+
+        /**
+         * When this reservation expires, in nanoseconds.
+         */
+        private final long expiresAt;
+
+        /**
+         * Creates a new {@link Reservation}.
+         *
+         * @param ticket The reserved ticket.
+         * @param expiresAt When this reservation expires, in nanoseconds.
+         */
+        private Reservation(long ticket, long expiresAt) {
+            this.ticket = ticket;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     /**
      * The login request model.
      */
@@ -48,6 +128,21 @@ public final class LoginService extends AuthenticationService<LoginRequest> {
          */
         private final LoginRequestMessage message;
 
+        /**
+         * The time this request was created, in nanoseconds.
+         */
+        private final long createdAt = System.nanoTime();
+
+        /**
+         * The time this request was queued for admission, in nanoseconds.
+         */
+        private volatile long queuedAt;
+
+        /**
+         * The admission queue ticket.
+         */
+        private volatile long ticket;
+
         /**
          * The loaded data.
          */
@@ -67,6 +162,41 @@ public final class LoginService extends AuthenticationService<LoginRequest> {
         }
     }
 
+    /**
+     * The workers that verify credentials.
+     */
+    private final ListeningExecutorService verifyWorkers;
+
+    /**
+     * The latency of the load stage.
+     */
+    private final LatencyHistogram loadLatency = new LatencyHistogram("load");
+
+    /**
+     * The latency of the verify stage.
+     */
+    private final LatencyHistogram verifyLatency = new LatencyHistogram("verify");
+
+    /**
+     * The time requests spend waiting for admission.
+     */
+    private final LatencyHistogram admitLatency = new LatencyHistogram("admit");
+
+    /**
+     * The time from a request being submitted, to the player being added to the world.
+     */
+    private final LatencyHistogram totalLatency = new LatencyHistogram("total");
+
+    /**
+     * The reserved places in the admission queue, keyed by username.
+     */
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of ticks since the admission queue was last checked.
+     */
+    private int ticksSinceQueueCheck;
+
     /**
      * Creates a new {@link LoginService}.
      *
@@ -74,35 +204,72 @@ public final class LoginService extends AuthenticationService<LoginRequest> {
      */
     public LoginService(World world) {
         super(world);
+        verifyWorkers = ExecutorUtils.threadPool(serviceName() + "VerifyWorker", VERIFY_THREADS);
     }
 
     @Override
     void addRequest(String username, LoginRequest request) {
         if (!pending.containsKey(username)) {
             logger.trace("Sending {}'s login request to a worker...", username);
-            workers.execute(() -> {
-                var client = request.client;
-                try {
-                    var player = request.player;
-                    var timer = Stopwatch.createStarted();
-                    var loadedData = PERSISTENCE.load(username);
-                    var response = client.getLoginResponse(loadedData, player.getPassword());
+            var client = request.client;
+            var loadFuture = workers.submit(() -> {
+                long start = System.nanoTime();
+                var loadedData = PERSISTENCE.load(username);
+                loadLatency.recordSince(start);
+                return loadedData;
+            });
+            var verifyFuture = Futures.transform(loadFuture, loadedData -> {
+                long start = System.nanoTime();
+                request.loadedData = loadedData;
+                var response = client.getLoginResponse(loadedData, request.player.getPassword());
+                verifyLatency.recordSince(start);
+                return response;
+            }, verifyWorkers);
+            Futures.addCallback(verifyFuture, new FutureCallback<>() {
+                @Override
+                public void onSuccess(LoginResponse response) {
                     if (response == LoginResponse.NORMAL) {
-                        if (pending.putIfAbsent(username, request) == null) {
-                            request.loadedData = loadedData;
-                            logger.debug("Finished loading {}'s data (took {}ms).", username, box(timer.elapsed().toMillis()));
-                        } else {
-                            client.disconnect();
-                        }
+                        admit(username, request);
                     } else {
                         // Load wasn't successful, disconnect with login response.
-                        client.sendLoginResponse(player, response);
+                        client.sendLoginResponse(request.player, response);
                     }
-                } catch (Exception e) {
-                    logger.error(new ParameterizedMessage("Issue servicing {}'s login request!", username), e);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    logger.error(new ParameterizedMessage("Issue servicing {}'s login request!", username), t);
                     client.disconnect();
                 }
-            });
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    /**
+     * Places a verified request into the admission queue, using the client's reserved place if they have one. If the
+     * queue is full, the client is told how long to wait before trying again.
+     *
+     * @param username The username.
+     * @param request The request.
+     */
+    private void admit(String username, LoginRequest request) {
+        var client = request.client;
+        var reservation = reservations.remove(username);
+        boolean reserved = reservation != null && System.nanoTime() < reservation.expiresAt;
+        if (!reserved && getPendingCount() >= queueCapacity()) {
+            int waitSeconds = computeWaitSeconds(getPendingCount());
+            logger.debug("Login queue full, {} told to wait {}s.", username, box(waitSeconds));
+            client.sendQueuedResponse(waitSeconds);
+            return;
+        }
+
+        request.ticket = reserved ? reservation.ticket : nextTicket();
+        request.queuedAt = System.nanoTime();
+        if (enqueue(username, request, request.ticket)) {
+            logger.debug("Finished loading {}'s data (took {}ms).", username,
+                    box(TimeUnit.NANOSECONDS.toMillis(request.queuedAt - request.createdAt)));
+        } else {
+            client.disconnect();
         }
     }
 
@@ -111,23 +278,101 @@ public final class LoginService extends AuthenticationService<LoginRequest> {
         return true;
     }
 
+    @Override
+    void postFinishRequests() {
+        if (++ticksSinceQueueCheck < QUEUE_CHECK_INTERVAL) {
+            return;
+        }
+        ticksSinceQueueCheck = 0;
+
+        long now = System.nanoTime();
+        reservations.values().removeIf(reservation -> now >= reservation.expiresAt);
+
+        int position = 0;
+        for (var next : pendingOrder().entrySet()) {
+            position++;
+            String username = next.getValue();
+            var request = pending.get(username);
+            if (request == null || now - request.queuedAt < MAX_QUEUE_WAIT) {
+                continue;
+            }
+
+            // Waited too long, send the client their estimated wait and hold their place until they reconnect.
+            int waitSeconds = computeWaitSeconds(position);
+            if (cancel(username, next.getKey())) {
+                long expiresAt = now + TimeUnit.SECONDS.toNanos(waitSeconds) + RESERVATION_GRACE;
+                reservations.put(username, new Reservation(next.getKey(), expiresAt));
+                request.client.sendQueuedResponse(waitSeconds);
+                logger.debug("{} is at position {} in the login queue, told to wait {}s.", username, box(position),
+                        box(waitSeconds));
+            }
+        }
+    }
+
     @Override
     void finishRequest(String username, LoginRequest request) {
         logger.trace("Sending {}'s final login response.", username);
         var player = request.player;
         var client = request.client;
+        admitLatency.recordSince(request.queuedAt);
+        if (!client.getChannel().isActive()) {
+            logger.trace("{} disconnected while waiting in the login queue.", username);
+            return;
+        }
         if (client.sendFinalLoginResponse(player, request.loadedData, request.message)) {
+            world.getPersistenceService().invalidate(username);
             world.getPlayers().add(player);
             player.setState(EntityState.ACTIVE);
+            totalLatency.recordSince(request.createdAt);
             logger.info("{} has logged in.", username);
         }
     }
 
+    @Override
+    int requestsPerTick() {
+        // Fall back to the default rate if the setting is missing, otherwise nobody would ever be admitted.
+        int rate = Luna.settings().loginAdmissionRate();
+        return rate > 0 ? rate : REQUESTS_THRESHOLD;
+    }
+
+    /**
+     * Determines the capacity of the admission queue. Falls back to {@link #DEFAULT_QUEUE_CAPACITY} if the setting is
+     * missing, otherwise every client would be told to wait forever.
+     *
+     * @return The capacity.
+     */
+    private int queueCapacity() {
+        int capacity = Luna.settings().loginQueueCapacity();
+        return capacity > 0 ? capacity : DEFAULT_QUEUE_CAPACITY;
+    }
+
     @Override
     protected void shutDown() throws Exception {
         logger.trace("A shutdown of the login service has been requested.");
         workers.shutdownNow();
+        verifyWorkers.shutdownNow();
         awaitTerminationUninterruptibly(workers);
+        awaitTerminationUninterruptibly(verifyWorkers);
         logger.fatal("The login service has been shutdown.");
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The latency histograms for each login stage.
+     */
+    public List<LatencyHistogram> getLatencies() {
+        return List.of(loadLatency, verifyLatency, admitLatency, totalLatency);
+    }
+
+    /**
+     * Estimates how long a request at {@code position} in the admission queue will have to wait.
+     *
+     * @param position The position in the admission queue, starting at {@code 1}.
+     * @return The estimated wait, in seconds.
+     */
+    private int computeWaitSeconds(int position) {
+        int rate = Math.max(1, requestsPerTick());
+        long ticks = (position + rate - 1) / rate;
+        long seconds = (ticks * 600 + 999) / 1000;
+        return (int) Math.max(1, Math.min(seconds, 255));
+    }
+}
@@ -47,7 +47,7 @@ public final class LogoutService extends AuthenticationService<Player> {
             return;
         }
         logger.trace("Adding {}'s logout request to the pending map.", username);
-        pending.put(username, request);
+        enqueue(username, request);
     }
 
     @Override
@@ -59,16 +59,20 @@ public final class LogoutService extends AuthenticationService<Player> {
 
     @Override
     void finishRequest(String username, Player request) {
-        world.getPlayers().remove(request);
+        // Mark the save as pending first, so cached data is never served after the player leaves the world.
         logger.trace("Servicing {}'s logout request...", username);
         pendingSaves.add(username);
+        world.getPlayers().remove(request);
         workers.execute(() -> {
+            var persistenceService = world.getPersistenceService();
             try {
                 var timer = Stopwatch.createStarted();
                 PERSISTENCE.save(request);
+                persistenceService.onSaved(username, request.getSaveData());
                 pendingSaves.remove(username);
                 logger.debug("Finished saving {}'s data (took {}ms).", username, box(timer.elapsed().toMillis()));
             } catch (Exception e) {
+                persistenceService.invalidate(username);
                 logger.error(new ParameterizedMessage("Issue servicing {}'s logout request!", username), e);
             }
         });
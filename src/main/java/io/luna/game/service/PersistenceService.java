@@ -1,6 +1,9 @@
 package io.luna.game.service;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.util.concurrent.AbstractIdleService;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -8,12 +11,17 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
+import io.luna.game.model.mob.PlayerRights;
+import io.luna.game.model.mob.persistence.EmbeddedPlayerSerializer;
 import io.luna.game.model.mob.persistence.PlayerData;
+import io.luna.game.model.mob.persistence.PlayerSerializer;
 import io.luna.util.ExecutorUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
@@ -25,6 +33,10 @@ import static org.apache.logging.log4j.util.Unbox.box;
  * An {@link AbstractIdleService} responsible for arbitrary loads and saves. This service exists to take any potential
  * load off of the {@link LoginService} and {@link LogoutService}. It's backed by a single thread, so requests are considered low priority
  * and are not guaranteed to execute right away. All functions can be used safely across multiple threads.
+ * <p>
+ * Recently loaded and saved data for offline players is kept in a bounded cache, so repeated lookups (from admin tools,
+ * highscores, etc.) don't always have to go through the serializer. A logged in player's live data always takes
+ * priority over anything cached.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -35,6 +47,11 @@ public final class PersistenceService extends AbstractIdleService {
      */
     private static final Logger logger = LogManager.getLogger();
 
+    /**
+     * The maximum amount of players whose data will be cached.
+     */
+    private static final int CACHE_SIZE = 1000;
+
     /**
      * The world.
      */
@@ -45,6 +62,13 @@ public final class PersistenceService extends AbstractIdleService {
      */
     private final ListeningExecutorService worker;
 
+    /**
+     * A cache of recently loaded and saved data for offline players. The least recently used entries are evicted
+     * first once the cache is full.
+     */
+    private final Cache<String, PlayerData> cache = CacheBuilder.newBuilder().
+            maximumSize(CACHE_SIZE).recordStats().build();
+
     /**
      * Creates a new {@link PersistenceService}.
      *
@@ -85,20 +109,24 @@ public final class PersistenceService extends AbstractIdleService {
                 throw new IllegalStateException("Cannot perform data transformation on logged in player.");
             }
 
+            // Always transform a fresh copy, so a failed transformation can't leave the cache in a bad state.
             var timer = Stopwatch.createStarted();
+            cache.invalidate(username);
             var data = AuthenticationService.PERSISTENCE.load(username);
             if (data == null) {
                 throw new NoSuchElementException("No player data available for " + username);
             }
             action.accept(data);
             AuthenticationService.PERSISTENCE.save(username, data);
+            cache.put(username, data);
             logger.debug("Finished transforming {}'s data (took {}ms).", username, box(timer.elapsed().toMillis()));
             return null;
         });
     }
 
     /**
-     * Asynchronously loads a player's data.
+     * Asynchronously loads a player's data. If the player is offline, the returned data may be shared with other
+     * callers and should not be modified. Use {@link #transform(String, Consumer)} to make changes.
      *
      * @param username The username of the player.
      * @return The future, describing the result of the task.
@@ -109,6 +137,13 @@ public final class PersistenceService extends AbstractIdleService {
             var data = new PlayerData().save(player);
             return Futures.immediateFuture(data);
         }
+        if (!world.getLogoutService().isSavePending(username)) {
+            // Cached data is only stale while the player is logged in, or while their data is being saved.
+            var cachedData = cache.getIfPresent(username);
+            if (cachedData != null) {
+                return Futures.immediateFuture(cachedData);
+            }
+        }
         logger.trace("Sending load request for {} to a worker...", username);
         return worker.submit(() -> {
             var timer = Stopwatch.createStarted();
@@ -116,6 +151,8 @@ public final class PersistenceService extends AbstractIdleService {
             if (data == null) {
                 throw new NoSuchElementException("No player data available for " + username);
             }
+            // Don't replace data that was written through while loading, it's newer.
+            cache.asMap().putIfAbsent(username, data);
             logger.debug("Finished loading {}'s data (took {}ms).", username, box(timer.elapsed().toMillis()));
             return data;
         });
@@ -157,6 +194,7 @@ public final class PersistenceService extends AbstractIdleService {
         return worker.submit(() -> {
             var timer = Stopwatch.createStarted();
             AuthenticationService.PERSISTENCE.save(username, data);
+            onSaved(username, data);
             logger.debug("Finished saving {}'s data (took {}ms).", username, box(timer.elapsed().toMillis()));
             return null;
         });
@@ -175,6 +213,7 @@ public final class PersistenceService extends AbstractIdleService {
         logger.trace("Sending mass save request to a worker...");
         return worker.submit(() -> {
             var timer = Stopwatch.createStarted();
+            Map<String, PlayerData> players = new HashMap<>();
             for (Player player : world.getPlayerMap().values()) {
                 String username = player.getUsername();
                 if (world.getLogoutService().hasRequest(username)) {
@@ -183,14 +222,60 @@ public final class PersistenceService extends AbstractIdleService {
                 }
                 try {
                     player.createSaveData();
-                    AuthenticationService.PERSISTENCE.save(player);
-                    logger.trace("Saved {}'s data.", username);
+                    players.put(username, player.getSaveData());
                 } catch (Exception e) {
-                    logger.error(new ParameterizedMessage("Issue saving {}'s data during mass save.", username), e);
+                    logger.error(new ParameterizedMessage("Issue creating {}'s data during mass save.", username), e);
                 }
             }
-            logger.debug("Mass save complete (took {}ms).", box(timer.elapsed().toMillis()));
+
+            // Save everyone at once, so serializers can batch their writes.
+            AuthenticationService.PERSISTENCE.saveAll(players);
+            cache.invalidateAll(players.keySet());
+            logger.debug("Mass save of {} players complete (took {}ms).", box(players.size()), box(timer.elapsed().toMillis()));
+            logger.debug("Player data cache: {}.", cache.stats());
             return null;
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the current serializer, for serializer specific lookups such as
+     * {@link EmbeddedPlayerSerializer#findByRights(PlayerRights)}. Such lookups block, and should not be performed on
+     * the game thread.
+     *
+     * @return The current serializer.
+     */
+    public PlayerSerializer getSerializer() {
+        return AuthenticationService.PERSISTENCE.getSerializer();
+    }
+
+    /**
+     * Writes {@code data} through to the cache after it was successfully saved. If the player is logged in, their
+     * entry is invalidated instead since their live data takes priority.
+     *
+     * @param username The username of the player.
+     * @param data The data that was saved.
+     */
+    void onSaved(String username, PlayerData data) {
+        if (world.getPlayerMap().containsKey(username)) {
+            cache.invalidate(username);
+        } else {
+            cache.put(username, data);
+        }
+    }
+
+    /**
+     * Invalidates the cached data for {@code username}.
+     *
+     * @param username The username of the player.
+     */
+    void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * @return The hit, miss, and eviction statistics for the player data cache.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+}
@@ -21,6 +21,17 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
 @Sharable
 public final class LunaChannelInitializer extends ChannelInitializer<SocketChannel> {
 
+    /**
+     * The amount of seconds a channel can go without reading data before it's closed.
+     */
+    public static final int READ_TIMEOUT = 5;
+
+    /**
+     * The amount of seconds a channel can go without reading data while its login request is being processed. The
+     * client sends nothing while it waits for a login response, and gives up on its own after 30 seconds.
+     */
+    public static final int LOGIN_READ_TIMEOUT = 30;
+
     /**
      * Handles upstream messages from Netty.
      */
@@ -65,7 +76,7 @@ public final class LunaChannelInitializer extends ChannelInitializer<SocketChann
         ch.attr(Client.KEY).setIfAbsent(new IdleClient(ch));
         ch.attr(LunaChannelFilter.KEY).setIfAbsent(channelFilter);
 
-        ch.pipeline().addLast("read-timeout", new ReadTimeoutHandler(5));
+        ch.pipeline().addLast("read-timeout", new ReadTimeoutHandler(READ_TIMEOUT));
         ch.pipeline().addLast("channel-filter", channelFilter);
         ch.pipeline().addLast("login-decoder", new LoginDecoder(context, msgRepository));
         ch.pipeline().addLast("login-encoder", loginEncoder);
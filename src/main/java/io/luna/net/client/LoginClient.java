@@ -7,6 +7,7 @@ import io.luna.game.model.mob.PlayerCredentials;
 import io.luna.game.model.mob.persistence.PlayerData;
 import io.luna.game.service.LoginService;
 import io.luna.game.service.LoginService.LoginRequest;
+import io.luna.net.LunaChannelInitializer;
 import io.luna.net.codec.game.GameMessageDecoder;
 import io.luna.net.codec.game.GameMessageEncoder;
 import io.luna.net.codec.login.LoginRequestMessage;
@@ -15,6 +16,7 @@ import io.luna.net.codec.login.LoginResponseMessage;
 import io.luna.net.msg.GameMessageRepository;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.timeout.ReadTimeoutHandler;
 import org.mindrot.jbcrypt.BCrypt;
 
 /**
@@ -68,7 +70,9 @@ public class LoginClient extends Client<LoginRequestMessage> {
             // Username/password format invalid, drop connection.
             channel.close();
         } else {
-            // Passed initial check, submit login request.
+            // Passed initial check, submit login request. The client won't send anything until it gets a response, so
+            // give the request longer to be serviced.
+            setReadTimeout(LunaChannelInitializer.LOGIN_READ_TIMEOUT);
             loginService.submit(username, new LoginRequest(player, this, msg));
         }
     }
@@ -83,6 +87,16 @@ public class LoginClient extends Client<LoginRequestMessage> {
         }
     }
 
+    /**
+     * Sends a {@link LoginResponse#LOGIN_QUEUED} response to the client, and then disconnects it. The client will
+     * display a countdown from {@code waitSeconds} before automatically trying to login again.
+     *
+     * @param waitSeconds The amount of seconds to wait.
+     */
+    public void sendQueuedResponse(int waitSeconds) {
+        channel.writeAndFlush(new LoginResponseMessage(waitSeconds)).addListener(ChannelFutureListener.CLOSE);
+    }
+
     /**
      * Determines what the login response should be once the player's data is loaded.
      *
@@ -124,6 +138,7 @@ public class LoginClient extends Client<LoginRequestMessage> {
             player.loadData(data);
             sendLoginResponse(player, LoginResponse.NORMAL);
 
+            setReadTimeout(LunaChannelInitializer.READ_TIMEOUT);
             var pipeline = channel.pipeline();
             var messageEncoder = new GameMessageEncoder(message.getEncryptor());
             var messageDecoder = new GameMessageDecoder(message.getDecryptor(), messageRepository);
@@ -132,4 +147,13 @@ public class LoginClient extends Client<LoginRequestMessage> {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces the read timeout handler.
+     *
+     * @param seconds The new read timeout, in seconds.
+     */
+    private void setReadTimeout(int seconds) {
+        channel.pipeline().replace("read-timeout", "read-timeout", new ReadTimeoutHandler(seconds));
+    }
+}
@@ -150,6 +150,22 @@ public final class ByteMessage extends DefaultByteBufHolder {
         return buf.release(decrement);
     }
 
+    @Override
+    public ByteMessage replace(ByteBuf content) {
+        return new ByteMessage(content, opcode, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Message buffers are pooled, so the duplicate has its own reference count and independent indexes. Releasing it
+     * releases a single reference of this message.
+     */
+    @Override
+    public ByteMessage retainedDuplicate() {
+        return (ByteMessage) super.retainedDuplicate();
+    }
+
     /**
      * Releases all references of this {@link ByteBuf}.
      *
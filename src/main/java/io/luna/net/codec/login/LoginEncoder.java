@@ -19,6 +19,8 @@ import io.netty.handler.codec.MessageToByteEncoder;
         if (msg.getResponse() == LoginResponse.NORMAL) {
             out.writeByte(msg.getRights().getClientValue());
             out.writeBoolean(msg.isSuspectedBot());
+        } else if (msg.getResponse() == LoginResponse.LOGIN_QUEUED) {
+            out.writeByte(Math.min(msg.getWaitSeconds(), 255));
         }
     }
 }
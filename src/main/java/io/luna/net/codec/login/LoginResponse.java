@@ -5,6 +5,9 @@ import io.luna.net.client.Client;
 /**
  * An enumerated type whose values represent login responses. Any response other than {@link #NORMAL} will
  * cause the {@link Client} to disconnect.
+ * <p>
+ * {@link #LOGIN_QUEUED} is followed by a wait time in seconds. The client displays a countdown from that value and then
+ * automatically attempts to login again.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -23,7 +26,8 @@ public enum LoginResponse {
     COULD_NOT_COMPLETE_LOGIN(13),
     SERVER_BEING_UPDATED(14),
     LOGIN_ATTEMPTS_EXCEEDED(16),
-    MEMBERS_ONLY_AREA(17);
+    MEMBERS_ONLY_AREA(17),
+    LOGIN_QUEUED(21);
 
     /**
      * The opcode.
@@ -25,6 +25,12 @@ public final class LoginResponseMessage {
      */
     private final boolean suspectedBot;
 
+    /**
+     * The amount of seconds the client should wait before trying again. Only sent with
+     * {@link LoginResponse#LOGIN_QUEUED}.
+     */
+    private final int waitSeconds;
+
     /**
      * Creates a new {@link LoginResponseMessage}.
      *
@@ -33,9 +39,31 @@ public final class LoginResponseMessage {
      * @param suspectedBot If the server suspects the {@link Client} is a bot.
      */
     public LoginResponseMessage(LoginResponse response, PlayerRights rights, boolean suspectedBot) {
+        this(response, rights, suspectedBot, 0);
+    }
+
+    /**
+     * Creates a {@link LoginResponseMessage} with a {@link LoginResponse#LOGIN_QUEUED} response.
+     *
+     * @param waitSeconds The amount of seconds the client should wait before trying again.
+     */
+    public LoginResponseMessage(int waitSeconds) {
+        this(LoginResponse.LOGIN_QUEUED, PlayerRights.PLAYER, false, waitSeconds);
+    }
+
+    /**
+     * Creates a new {@link LoginResponseMessage}.
+     *
+     * @param response The login response.
+     * @param rights The authority level.
+     * @param suspectedBot If the server suspects the {@link Client} is a bot.
+     * @param waitSeconds The amount of seconds the client should wait before trying again.
+     */
+    private LoginResponseMessage(LoginResponse response, PlayerRights rights, boolean suspectedBot, int waitSeconds) {
         this.response = response;
         this.rights = rights;
         this.suspectedBot = suspectedBot;
+        this.waitSeconds = waitSeconds;
     }
 
     /**
@@ -68,4 +96,11 @@ public final class LoginResponseMessage {
     public boolean isSuspectedBot() {
         return suspectedBot;
     }
+
+    /**
+     * @return The amount of seconds the client should wait before trying again.
+     */
+    public int getWaitSeconds() {
+        return waitSeconds;
+    }
 }
@@ -0,0 +1,54 @@
+package io.luna.net.msg;
+
+import io.luna.game.model.mob.Player;
+import io.luna.net.codec.ByteMessage;
+
+/**
+ * A {@link GameMessageWriter} that writes a message once, and shares the written buffer between every player it's
+ * queued for. Each player receives a retained duplicate of the buffer, so the message is only encoded once no matter
+ * how many players it's sent to.
+ * <p>
+ * Only messages that don't depend on the player they're written for can be shared. {@link #release()} must be
+ * invoked once the message has been queued for every player.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class SharedMessageWriter extends GameMessageWriter {
+
+    /**
+     * The message to share.
+     */
+    private final GameMessageWriter msg;
+
+    /**
+     * The written message, or {@code null} if it hasn't been written yet.
+     */
+    private ByteMessage written;
+
+    /**
+     * Creates a new {@link SharedMessageWriter}.
+     *
+     * @param msg The message to share.
+     */
+    public SharedMessageWriter(GameMessageWriter msg) {
+        this.msg = msg;
+    }
+
+    @Override
+    public ByteMessage write(Player player) {
+        if (written == null) {
+            written = msg.write(player);
+        }
+        return written.retainedDuplicate();
+    }
+
+    /**
+     * Releases the shared buffer. Duplicates that were already queued remain valid until they're encoded.
+     */
+    public void release() {
+        if (written != null) {
+            written.release();
+            written = null;
+        }
+    }
+}
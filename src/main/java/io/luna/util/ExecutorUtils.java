@@ -6,10 +6,12 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 import java.util.concurrent.TimeUnit;
 
@@ -54,6 +56,24 @@ public final class ExecutorUtils {
         return threadPool(name, ThreadUtils.cpuCount());
     }
 
+    /**
+     * Create a new thread pool with {@code threads} workers and a bounded queue. Unlike the other pools, tasks are
+     * never ran by the submitting thread; once {@code queueCapacity} tasks are waiting, new tasks are rejected with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param name The naming scheme for the workers in the pool.
+     * @param threads The amount of workers in the pool.
+     * @param queueCapacity The maximum amount of waiting tasks.
+     * @return The thread pool.
+     */
+    public static ListeningExecutorService boundedThreadPool(String name, int threads, int queueCapacity) {
+        var threadPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        threadPool.setThreadFactory(new ThreadFactoryBuilder().setNameFormat(name).build());
+        threadPool.setRejectedExecutionHandler(new AbortPolicy());
+        return MoreExecutors.listeningDecorator(threadPool);
+    }
+
     public static ThreadFactory threadFactory(Class<?> classType) {
         return threadFactory(classType.getSimpleName() + "Thread");
     }
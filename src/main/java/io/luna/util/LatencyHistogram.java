@@ -0,0 +1,146 @@
+package io.luna.util;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lightweight, thread-safe histogram that records latencies into fixed millisecond buckets. Percentiles are
+ * approximated by the upper bound of the bucket they fall within, which is accurate enough for spotting slow paths
+ * without the overhead of storing every sample.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The upper bounds of each bucket, in milliseconds. Samples greater than the last bound are placed in an overflow
+     * bucket.
+     */
+    private static final long[] BOUNDS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    /**
+     * The name of this histogram.
+     */
+    private final String name;
+
+    /**
+     * The sample count of each bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+
+    /**
+     * The total amount of samples.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of all samples, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * The largest sample, in nanoseconds.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates a new {@link LatencyHistogram}.
+     *
+     * @param name The name of this histogram.
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        long samples = count.sum();
+        return MoreObjects.toStringHelper(this).
+                add("name", name).
+                add("count", samples).
+                add("mean", samples == 0 ? "0ms" : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / samples) + "ms").
+                add("p50", "<=" + percentile(0.50) + "ms").
+                add("p95", "<=" + percentile(0.95) + "ms").
+                add("p99", "<=" + percentile(0.99) + "ms").
+                add("max", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()) + "ms").toString();
+    }
+
+    /**
+     * Records a single sample.
+     *
+     * @param nanos The latency, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int index = 0;
+        while (index < BOUNDS.length && millis > BOUNDS[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records a single sample measured from {@code startNanos} until now.
+     *
+     * @param startNanos The start time, from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Approximates a percentile of all recorded samples.
+     *
+     * @param percentile The percentile, between {@code 0.0} and {@code 1.0}.
+     * @return The upper bound of the bucket the percentile falls within, in milliseconds. The maximum sample is
+     * returned if it falls within the overflow bucket.
+     */
+    public long percentile(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(samples * percentile);
+        long seen = 0;
+        for (int index = 0; index < BOUNDS.length; index++) {
+            seen += buckets.get(index);
+            if (seen >= target) {
+                return BOUNDS[index];
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * Clears all recorded samples.
+     */
+    public void reset() {
+        for (int index = 0; index < buckets.length(); index++) {
+            buckets.set(index, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    /**
+     * @return The name of this histogram.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The total amount of samples.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -5,6 +5,8 @@ import com.zaxxer.hikari.HikariDataSource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
 
@@ -52,6 +54,16 @@ public final class SqlConnectionPool {
          */
         private String database = USERNAME;
 
+        /**
+         * The JDBC url, if not connecting to the default {@code MySQL} server.
+         */
+        private String jdbcUrl;
+
+        /**
+         * The data source properties passed to the JDBC driver.
+         */
+        private final Map<String, Object> properties = new LinkedHashMap<>();
+
         /**
          * Sets the pool's name.
          *
@@ -74,6 +86,30 @@ public final class SqlConnectionPool {
             return this;
         }
 
+        /**
+         * Sets the JDBC url. This overrides the default {@code MySQL} url, and can be used to connect to other
+         * databases such as an embedded {@code H2} file.
+         *
+         * @param jdbcUrl The new value.
+         * @return This builder.
+         */
+        public Builder jdbcUrl(String jdbcUrl) {
+            this.jdbcUrl = requireNonNull(jdbcUrl);
+            return this;
+        }
+
+        /**
+         * Adds a data source property, passed directly to the JDBC driver.
+         *
+         * @param key The property key.
+         * @param value The property value.
+         * @return This builder.
+         */
+        public Builder property(String key, Object value) {
+            properties.put(requireNonNull(key), requireNonNull(value));
+            return this;
+        }
+
         /**
          * Creates a new connection pool.
          *
@@ -82,10 +118,11 @@ public final class SqlConnectionPool {
          */
         public SqlConnectionPool build() throws SQLException {
             HikariConfig config = new HikariConfig();
-            config.setJdbcUrl("jdbc:mysql://" + HOST + ":" + PORT + "/" + database + "");
+            config.setJdbcUrl(jdbcUrl != null ? jdbcUrl : "jdbc:mysql://" + HOST + ":" + PORT + "/" + database + "");
             config.setUsername(USERNAME);
             config.setPassword(PASSWORD);
             config.setPoolName(poolName);
+            properties.forEach(config::addDataSourceProperty);
             return new SqlConnectionPool(new HikariDataSource(config));
         }
 
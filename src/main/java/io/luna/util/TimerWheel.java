@@ -0,0 +1,142 @@
+package io.luna.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A hashed timer wheel that fires values on the tick they're due. Values are placed into the bucket for their due tick
+ * modulo the amount of buckets, so advancing the wheel by one tick only visits the values in a single bucket. Values
+ * due further away than one revolution are passed over until their tick arrives.
+ * <p>
+ * This class is not thread-safe, and should only be used by the game thread.
+ *
+ * @param <T> The type of the values.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class TimerWheel<T> {
+
+    /**
+     * A value scheduled on the wheel.
+     *
+     * @param <T> The type of the value.
+     */
+    private static final class Timer<T> {
+
+        /**
+         * The value.
+         */
+        private final T value;
+
+        /**
+         * The tick the value is due on.
+         */
+        private final long dueTick;
+
+        /**
+         * Creates a new {@link Timer}.
+         *
+         * @param value The value.
+         * @param dueTick The tick the value is due on.
+         */
+        private Timer(T value, long dueTick) {
+            this.value = value;
+            this.dueTick = dueTick;
+        }
+    }
+
+    /**
+     * The buckets.
+     */
+    private final List<List<Timer<T>>> buckets;
+
+    /**
+     * The mask used to find the bucket of a tick.
+     */
+    private final int mask;
+
+    /**
+     * The last tick that was fired.
+     */
+    private long currentTick;
+
+    /**
+     * The amount of scheduled values.
+     */
+    private int size;
+
+    /**
+     * Creates a new {@link TimerWheel}.
+     *
+     * @param bucketCount The amount of buckets, must be a power of two. Should be larger than most delays.
+     * @param currentTick The current tick.
+     */
+    public TimerWheel(int bucketCount, long currentTick) {
+        checkArgument(bucketCount > 0 && Integer.bitCount(bucketCount) == 1, "bucketCount must be a power of two");
+        buckets = new ArrayList<>(bucketCount);
+        for (int index = 0; index < bucketCount; index++) {
+            buckets.add(new ArrayList<>());
+        }
+        mask = bucketCount - 1;
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Schedules {@code value} to fire on {@code dueTick}. Values that are already due fire on the next tick.
+     *
+     * @param value The value.
+     * @param dueTick The tick to fire on.
+     * @return The tick the value will fire on.
+     */
+    public long schedule(T value, long dueTick) {
+        dueTick = Math.max(dueTick, currentTick + 1);
+        buckets.get((int) (dueTick & mask)).add(new Timer<>(value, dueTick));
+        size++;
+        return dueTick;
+    }
+
+    /**
+     * Advances this wheel up to {@code tick}, firing every value due on or before it.
+     *
+     * @param tick The tick to advance to.
+     * @param action The action to apply to each due value. May schedule new values.
+     */
+    public void advance(long tick, Consumer<T> action) {
+        while (currentTick < tick) {
+            currentTick++;
+            List<Timer<T>> bucket = buckets.get((int) (currentTick & mask));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+
+            // Replace the bucket first, so that the action can schedule values into it.
+            List<Timer<T>> fresh = new ArrayList<>();
+            buckets.set((int) (currentTick & mask), fresh);
+            for (Timer<T> timer : bucket) {
+                if (timer.dueTick > currentTick) {
+                    // Due on a later revolution.
+                    fresh.add(timer);
+                } else {
+                    size--;
+                    action.accept(timer.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The amount of scheduled values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The last tick that was fired.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+}
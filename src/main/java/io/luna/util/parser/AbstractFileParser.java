@@ -1,13 +1,17 @@
 package io.luna.util.parser;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.BufferedReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
  * An abstraction model that provides functions for parsing of various types of files. File parser implementations
@@ -23,6 +27,11 @@ import java.util.List;
  */
 public abstract class AbstractFileParser<P, T, R> implements Runnable {
 
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
     /**
      * The immutable list of files to parse.
      */
@@ -83,6 +92,18 @@ public abstract class AbstractFileParser<P, T, R> implements Runnable {
      */
     public abstract P newParser(BufferedReader reader) throws Exception;
 
+    /**
+     * A function called for each token object as soon as it's converted, while the rest of the file is still being
+     * parsed. Token objects handled here are not retained, and won't be passed to {@link #onCompleted(ImmutableList)}.
+     *
+     * @param tokenObject The token object.
+     * @return {@code true} if the token object was handled.
+     * @throws Exception If any errors occur while handling the token object.
+     */
+    public boolean onConverted(R tokenObject) throws Exception {
+        return false;
+    }
+
     /**
      * A function called when all tokens have been parsed.
      *
@@ -107,17 +128,23 @@ public abstract class AbstractFileParser<P, T, R> implements Runnable {
      */
     private void parseFile(Path file) {
         try (BufferedReader buf = Files.newBufferedReader(file)) {
-            List<R> tokenObjects = new ArrayList<>();
+            Stopwatch timer = Stopwatch.createStarted();
+            ImmutableList.Builder<R> tokenObjects = ImmutableList.builder();
             P parser = newParser(buf);
 
+            currentIndex = 0;
             while (hasNext(parser)) {
                 R tokenObj = convert(parse(parser));
-                if(tokenObj != null) {
-                    tokenObjects.add(tokenObj);
+                if (tokenObj != null) {
+                    if (!onConverted(tokenObj)) {
+                        tokenObjects.add(tokenObj);
+                    }
                     currentIndex++;
                 }
             }
-            onCompleted(ImmutableList.copyOf(tokenObjects));
+            onCompleted(tokenObjects.build());
+            logger.debug("Parsed {} tokens from {} in {}ms.", box(currentIndex), file.getFileName(),
+                    box(timer.elapsed(TimeUnit.MILLISECONDS)));
         } catch (Exception e) {
             throw new RuntimeException("Error while reading file [" + file + "]", e);
         }
@@ -1,19 +1,24 @@
 package io.luna.util.parser;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 import java.io.BufferedReader;
 
 /**
- * A {@link AbstractFileParser} implementation designed to parse {@code JSON} tokens.
+ * A {@link AbstractFileParser} implementation designed to parse {@code JSON} tokens. Files must contain a single array
+ * of objects, which are streamed one at a time rather than reading the entire file into memory first.
  *
  * @param <R> The token object type.
  * @author lare96 <http://github.org/lare96>
  */
-public abstract class AbstractJsonFileParser<R> extends AbstractFileParser<JsonArray, JsonObject, R> {
+public abstract class AbstractJsonFileParser<R> extends AbstractFileParser<JsonReader, JsonObject, R> {
+
+    /**
+     * The parser used to read each object.
+     */
+    private final JsonParser jsonParser = new JsonParser();
 
     /**
      * Creates a new {@link AbstractJsonFileParser}.
@@ -25,19 +30,19 @@ public abstract class AbstractJsonFileParser<R> extends AbstractFileParser<JsonA
     }
 
     @Override
-    public JsonObject parse(JsonArray parser) throws Exception {
-        JsonElement element = parser.get(currentIndex);
-        return element.getAsJsonObject();
+    public JsonObject parse(JsonReader parser) throws Exception {
+        return jsonParser.parse(parser).getAsJsonObject();
     }
 
     @Override
-    public JsonArray newParser(BufferedReader reader) throws Exception {
-        JsonElement jsonReader = new JsonParser().parse(reader);
-        return jsonReader.getAsJsonArray();
+    public JsonReader newParser(BufferedReader reader) throws Exception {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.beginArray();
+        return jsonReader;
     }
 
     @Override
-    public boolean hasNext(JsonArray parser) throws Exception {
-        return currentIndex + 1 != parser.size();
+    public boolean hasNext(JsonReader parser) throws Exception {
+        return parser.hasNext();
     }
 }
@@ -0,0 +1,140 @@
+package io.luna.util.parser;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import io.luna.game.model.def.Definition;
+import io.luna.game.model.def.DefinitionCodec;
+import io.luna.game.model.def.DefinitionPack;
+import io.luna.game.model.def.DefinitionRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * A {@link Runnable} that loads a definition repository from its {@link DefinitionPack}, falling back to the source
+ * {@code JSON} files when the pack is missing or stale. The pack is recompiled whenever the source files are parsed,
+ * so only the first launch after the files change pays for parsing them.
+ *
+ * @param <T> The definition type.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class DefinitionPackLoader<T extends Definition> implements Runnable {
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * The directory that definition packs are stored in.
+     */
+    private static final Path PACK_DIR = Paths.get("./data/def/cache/");
+
+    /**
+     * The parser for the source files. It must store every definition in {@link #repository}.
+     */
+    private final AbstractFileParser<?, ?, T> parser;
+
+    /**
+     * The repository to load.
+     */
+    private final DefinitionRepository<T> repository;
+
+    /**
+     * The codec.
+     */
+    private final DefinitionCodec<T> codec;
+
+    /**
+     * Creates a new {@link DefinitionPackLoader}.
+     *
+     * @param parser The parser for the source files. It must store every definition in {@code repository}.
+     * @param repository The repository to load.
+     * @param codec The codec.
+     */
+    public DefinitionPackLoader(AbstractFileParser<?, ?, T> parser, DefinitionRepository<T> repository,
+                                DefinitionCodec<T> codec) {
+        this.parser = parser;
+        this.repository = repository;
+        this.codec = codec;
+    }
+
+    @Override
+    public void run() {
+        ImmutableList<Path> sourceFiles = parser.getFileList().stream().map(Paths::get).
+                collect(ImmutableList.toImmutableList());
+        String sourceName = sourceFiles.get(0).getFileName().toString();
+        Path packFile = PACK_DIR.resolve(sourceName.substring(0, sourceName.lastIndexOf('.')) + ".pack");
+        HashCode sourceHash = hash(sourceFiles);
+
+        Stopwatch timer = Stopwatch.createStarted();
+        Optional<DefinitionPack<T>> pack = Optional.empty();
+        try {
+            pack = DefinitionPack.open(packFile, sourceHash, codec);
+        } catch (IOException | RuntimeException e) {
+            // The pack is only a cache, a corrupt one is discarded before anything is stored from it.
+            logger.warn("Definition pack {} could not be read, it will be rebuilt.", packFile, e);
+            delete(packFile);
+        }
+        if (pack.isPresent()) {
+            repository.storePackAndLock(pack.get());
+            logger.debug("Mapped {} definitions from {} in {}ms.", box(pack.get().size()), packFile.getFileName(),
+                    box(timer.elapsed(TimeUnit.MILLISECONDS)));
+            return;
+        }
+
+        parser.parseFiles();
+        try {
+            DefinitionPack.write(packFile, sourceHash,
+                    repository.stream().sorted(Comparator.comparingInt(Definition::getId)).
+                            collect(ImmutableList.toImmutableList()), codec);
+            logger.info("Compiled definition pack {}.", packFile.getFileName());
+        } catch (IOException | RuntimeException e) {
+            // The definitions were already loaded from the source files, so they're used without a pack.
+            logger.warn("Definition pack {} could not be written.", packFile, e);
+        }
+    }
+
+    /**
+     * Deletes a definition pack that could not be read.
+     *
+     * @param packFile The pack file.
+     */
+    private void delete(Path packFile) {
+        try {
+            Files.deleteIfExists(packFile);
+        } catch (IOException e) {
+            logger.warn("Definition pack {} could not be deleted.", packFile, e);
+        }
+    }
+
+    /**
+     * Computes the combined hash of {@code sourceFiles}.
+     *
+     * @param sourceFiles The source files.
+     * @return The hash.
+     */
+    private HashCode hash(ImmutableList<Path> sourceFiles) {
+        Hasher hasher = DefinitionPack.HASH_FUNCTION.newHasher();
+        for (Path file : sourceFiles) {
+            try {
+                hasher.putBytes(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error while reading file [" + file + "]", e);
+            }
+        }
+        return hasher.hash();
+    }
+}
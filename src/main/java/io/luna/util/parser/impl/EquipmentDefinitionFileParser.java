@@ -1,6 +1,7 @@
 package io.luna.util.parser.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import io.luna.game.model.def.EquipmentDefinition;
 import io.luna.game.model.def.EquipmentDefinition.Requirement;
@@ -28,13 +29,23 @@ public final class EquipmentDefinitionFileParser extends AbstractJsonFileParser<
         boolean twoHanded = token.get("two_handed?").getAsBoolean();
         boolean fullBody = token.get("full_body?").getAsBoolean();
         boolean fullHelmet = token.get("full_helmet?").getAsBoolean();
-        Requirement[] requirements = GsonUtils.getAsType(token.get("requirements"), Requirement[].class);
+        JsonArray requirementsArray = token.getAsJsonArray("requirements");
+        Requirement[] requirements = new Requirement[requirementsArray.size()];
+        for (int reqIndex = 0; reqIndex < requirements.length; reqIndex++) {
+            requirements[reqIndex] = new Requirement(requirementsArray.get(reqIndex).getAsJsonObject());
+        }
         int[] bonuses = GsonUtils.getAsType(token.get("bonuses"), int[].class);
         return new EquipmentDefinition(id, index, twoHanded, fullBody, fullHelmet, requirements, bonuses);
     }
 
+    @Override
+    public boolean onConverted(EquipmentDefinition tokenObject) throws Exception {
+        EquipmentDefinition.ALL.storeDefinition(tokenObject);
+        return true;
+    }
+
     @Override
     public void onCompleted(ImmutableList<EquipmentDefinition> tokenObjects) throws Exception {
-        EquipmentDefinition.ALL.storeAndLock(tokenObjects);
+        EquipmentDefinition.ALL.lock();
     }
 }
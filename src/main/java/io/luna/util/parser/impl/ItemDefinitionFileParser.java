@@ -37,8 +37,14 @@ public final class ItemDefinitionFileParser extends AbstractJsonFileParser<ItemD
                 tradeable, inventoryActions, groundActions);
     }
 
+    @Override
+    public boolean onConverted(ItemDefinition tokenObject) throws Exception {
+        ItemDefinition.ALL.storeDefinition(tokenObject);
+        return true;
+    }
+
     @Override
     public void onCompleted(ImmutableList<ItemDefinition> tokenObjects) throws Exception {
-        ItemDefinition.ALL.storeAndLock(tokenObjects);
+        ItemDefinition.ALL.lock();
     }
 }
@@ -39,8 +39,14 @@ public class NpcCombatDefinitionFileParser extends AbstractJsonFileParser<NpcCom
                 attackSpeed, attackAnimation, defenceAnimation, deathAnimation, skills, bonuses);
     }
 
+    @Override
+    public boolean onConverted(NpcCombatDefinition tokenObject) throws Exception {
+        NpcCombatDefinition.ALL.storeDefinition(tokenObject);
+        return true;
+    }
+
     @Override
     public void onCompleted(ImmutableList<NpcCombatDefinition> tokenObjects) throws Exception {
-        NpcCombatDefinition.ALL.storeAndLock(tokenObjects);
+        NpcCombatDefinition.ALL.lock();
     }
 }
@@ -35,8 +35,14 @@ public final class NpcDefinitionFileParser extends AbstractJsonFileParser<NpcDef
                 walkRightAnimation, actions);
     }
 
+    @Override
+    public boolean onConverted(NpcDefinition tokenObject) throws Exception {
+        NpcDefinition.ALL.storeDefinition(tokenObject);
+        return true;
+    }
+
     @Override
     public void onCompleted(ImmutableList<NpcDefinition> tokenObjects) throws Exception {
-        tokenObjects.forEach(NpcDefinition.ALL::storeDefinition);
+        NpcDefinition.ALL.lock();
     }
 }
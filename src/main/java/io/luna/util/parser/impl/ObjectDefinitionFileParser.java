@@ -35,8 +35,14 @@ public final class ObjectDefinitionFileParser extends AbstractJsonFileParser<Obj
         return new ObjectDefinition(id, name, examine, length, width, isImp, isInt, isObs, isSolid, actions);
     }
 
+    @Override
+    public boolean onConverted(ObjectDefinition tokenObject) throws Exception {
+        ObjectDefinition.ALL.storeDefinition(tokenObject);
+        return true;
+    }
+
     @Override
     public void onCompleted(ImmutableList<ObjectDefinition> tokenObjects) throws Exception {
-        tokenObjects.forEach(ObjectDefinition.ALL::storeDefinition);
+        ObjectDefinition.ALL.lock();
     }
 }
@@ -0,0 +1,73 @@
+package io.luna.game.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link IntKeyEventMatcher}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class IntKeyEventMatcherTest {
+
+    private static final class KeyEvent extends Event {
+        private final int key;
+
+        private KeyEvent(int key) {
+            this.key = key;
+        }
+    }
+
+    private IntKeyEventMatcher<KeyEvent> matcher;
+
+    private List<String> ran;
+
+    @BeforeEach
+    void initMatcher() {
+        matcher = new IntKeyEventMatcher<>(msg -> msg.key);
+        ran = new ArrayList<>();
+    }
+
+    @Test
+    void testDirectTable() {
+        matcher.add(5, listener("a"));
+        matcher.add(5, listener("b"));
+        matcher.add(100, listener("c"));
+
+        assertTrue(matcher.match(new KeyEvent(5)));
+        assertFalse(matcher.match(new KeyEvent(6)));
+        assertFalse(matcher.match(new KeyEvent(-1)));
+        assertFalse(matcher.match(new KeyEvent(101)));
+        assertEquals(List.of("a", "b"), ran);
+    }
+
+    @Test
+    void testSparseTable() {
+        matcher.add(-3, listener("a"));
+        matcher.add(Integer.MAX_VALUE, listener("b"));
+
+        assertTrue(matcher.match(new KeyEvent(Integer.MAX_VALUE)));
+        assertTrue(matcher.match(new KeyEvent(-3)));
+        assertFalse(matcher.match(new KeyEvent(0)));
+        assertEquals(List.of("b", "a"), ran);
+    }
+
+    @Test
+    void testRecompile() {
+        assertFalse(matcher.match(new KeyEvent(1)));
+        matcher.add(1, listener("a"));
+        assertTrue(matcher.match(new KeyEvent(1)));
+        assertEquals(List.of("a"), ran);
+    }
+
+    private EventMatcherListener<KeyEvent> listener(String name) {
+        return new EventMatcherListener<>(msg -> ran.add(name));
+    }
+}
@@ -0,0 +1,153 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.StationaryEntity;
+import io.luna.game.model.StationaryEntity.UpdateType;
+import io.luna.game.model.mob.Player;
+import io.luna.net.msg.GameMessageWriter;
+import io.luna.net.msg.out.ChunkPlacementMessageWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A test that ensures the change log within the {@link Chunk} class is sent correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ChunkTest {
+
+    /**
+     * The placement of every entity.
+     */
+    private static final Position PLACEMENT = new Position(3200, 3200);
+
+    /**
+     * The chunk.
+     */
+    private Chunk chunk;
+
+    /**
+     * A player that receives a snapshot in some tests.
+     */
+    private Player snapshotPlayer;
+
+    /**
+     * A player that never receives a snapshot.
+     */
+    private Player otherPlayer;
+
+    /**
+     * The messages queued for {@link #snapshotPlayer}, excluding placements.
+     */
+    private List<GameMessageWriter> snapshotPlayerMessages;
+
+    /**
+     * The messages queued for {@link #otherPlayer}, excluding placements.
+     */
+    private List<GameMessageWriter> otherPlayerMessages;
+
+    /**
+     * The entity being updated.
+     */
+    private StationaryEntity entity;
+
+    /**
+     * The message that shows {@link #entity}.
+     */
+    private GameMessageWriter showMessage;
+
+    /**
+     * The message that hides {@link #entity}.
+     */
+    private GameMessageWriter hideMessage;
+
+    @BeforeEach
+    public void setUp() {
+        chunk = new Chunk(new ChunkPosition(PLACEMENT));
+        snapshotPlayerMessages = new ArrayList<>();
+        otherPlayerMessages = new ArrayList<>();
+        snapshotPlayer = mockPlayer(snapshotPlayerMessages);
+        otherPlayer = mockPlayer(otherPlayerMessages);
+
+        showMessage = mock(GameMessageWriter.class);
+        hideMessage = mock(GameMessageWriter.class);
+        entity = mock(StationaryEntity.class);
+        when(entity.getPlacement()).thenReturn(PLACEMENT);
+        when(entity.updateMessage(UpdateType.SHOW)).thenReturn(showMessage);
+        when(entity.updateMessage(UpdateType.HIDE)).thenReturn(hideMessage);
+        doAnswer(invocation -> {
+            Consumer<Player> action = invocation.getArgument(0);
+            action.accept(snapshotPlayer);
+            action.accept(otherPlayer);
+            return null;
+        }).when(entity).forEachRecipient(any());
+    }
+
+    /**
+     * Test that an entity shown and hidden within the same tick is never sent.
+     */
+    @Test
+    public void testShowThenHide() {
+        chunk.queueUpdate(entity, UpdateType.SHOW);
+        chunk.queueUpdate(entity, UpdateType.HIDE);
+        chunk.flushUpdates();
+
+        assertEquals(List.of(), snapshotPlayerMessages);
+        assertEquals(List.of(), otherPlayerMessages);
+    }
+
+    /**
+     * Test that a hide queued after a snapshot is still sent to the player that received the snapshot.
+     */
+    @Test
+    public void testHideAfterSnapshot() {
+        chunk.queueUpdate(entity, UpdateType.SHOW);
+        chunk.sendSnapshot(snapshotPlayer);
+        chunk.queueUpdate(entity, UpdateType.HIDE);
+        chunk.flushUpdates();
+
+        assertEquals(List.of(hideMessage), snapshotPlayerMessages);
+        assertEquals(List.of(showMessage, hideMessage), otherPlayerMessages);
+    }
+
+    /**
+     * Test that updates queued before a snapshot aren't sent again to the player that received the snapshot.
+     */
+    @Test
+    public void testUpdatesBeforeSnapshot() {
+        chunk.queueUpdate(entity, UpdateType.SHOW);
+        chunk.sendSnapshot(snapshotPlayer);
+        chunk.flushUpdates();
+
+        assertEquals(List.of(), snapshotPlayerMessages);
+        assertEquals(List.of(showMessage), otherPlayerMessages);
+    }
+
+    /**
+     * Creates a mock player that records the messages queued for it, excluding placements.
+     *
+     * @param messages The list to record messages in.
+     * @return The player.
+     */
+    private Player mockPlayer(List<GameMessageWriter> messages) {
+        Player player = mock(Player.class);
+        doAnswer(invocation -> {
+            GameMessageWriter msg = invocation.getArgument(0);
+            if (!(msg instanceof ChunkPlacementMessageWriter)) {
+                messages.add(msg);
+            }
+            return null;
+        }).when(player).queue(any());
+        return player;
+    }
+}
@@ -0,0 +1,76 @@
+package io.luna.game.model.def;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DefinitionNameIndex}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class DefinitionNameIndexTest {
+
+    DefinitionRepository<NpcDefinition> repository;
+
+    DefinitionNameIndex<NpcDefinition> index;
+
+    @BeforeEach
+    void initIndex() {
+        repository = new ArrayDefinitionRepository<>(10);
+        index = new DefinitionNameIndex<>(repository, NpcDefinition::getName);
+        store(1, "Man");
+        store(2, "Guard");
+        store(3, "Dark wizard");
+        store(4, "Wizard");
+        store(5, "Guardian of Armadyl");
+        store(6, "Man");
+        repository.lock();
+    }
+
+    @Test
+    void unloadedRepository() {
+        var unloaded = new DefinitionNameIndex<>(new ArrayDefinitionRepository<NpcDefinition>(1),
+                NpcDefinition::getName);
+        assertThrows(IllegalStateException.class, unloaded::build);
+    }
+
+    @Test
+    void withName() {
+        assertEquals(List.of(1, 6), ids(index.withName("MAN")));
+        assertTrue(index.withName("Ma").isEmpty());
+    }
+
+    @Test
+    void withPrefix() {
+        assertEquals(List.of(2, 5), ids(index.withPrefix("guard")));
+    }
+
+    @Test
+    void searchRanking() {
+        // Exact, then name prefix, then word prefix.
+        assertEquals(List.of(4, 3), ids(index.search("wizard", 10)));
+        assertEquals(List.of(2, 5), ids(index.search("guard", 10)));
+        assertEquals(List.of(5), ids(index.search("armadyl guard", 10)));
+    }
+
+    @Test
+    void searchFuzzy() {
+        assertEquals(List.of(4, 3), ids(index.search("wizzard", 10)));
+        assertEquals(List.of(2), ids(index.search("uard", 1)));
+    }
+
+    private void store(int id, String name) {
+        repository.storeDefinition(new NpcDefinition(id, name, "", 1, -1, -1, -1, -1, new String[0]));
+    }
+
+    private static List<Integer> ids(List<NpcDefinition> definitions) {
+        return definitions.stream().map(NpcDefinition::getId).collect(Collectors.toList());
+    }
+}
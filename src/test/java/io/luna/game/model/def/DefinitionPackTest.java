@@ -0,0 +1,88 @@
+package io.luna.game.model.def;
+
+import com.google.common.hash.HashCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link DefinitionPack}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class DefinitionPackTest {
+
+    private static final HashCode SOURCE_HASH = DefinitionPack.HASH_FUNCTION.hashInt(1);
+
+    @TempDir
+    Path tempDir;
+
+    Path packFile;
+
+    @BeforeEach
+    void writePack() throws Exception {
+        packFile = tempDir.resolve("items.pack");
+        var first = new ItemDefinition(1, "Dragon dagger", false, 30000, 2, -1, true, 0.45, true,
+                new String[]{"Wield", "Drop"}, new String[]{"Take"});
+        var second = new ItemDefinition(4, "Coins", true, 1, -1, -1, false, 0.0, true,
+                new String[0], new String[]{"Take"});
+        DefinitionPack.write(packFile, SOURCE_HASH, List.of(first, second), ItemDefinition.CODEC);
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        var pack = DefinitionPack.open(packFile, SOURCE_HASH, ItemDefinition.CODEC).orElseThrow();
+        assertEquals(2, pack.size());
+        assertNull(pack.decode(2));
+
+        var dagger = pack.decode(1);
+        assertEquals("Dragon dagger", dagger.getName());
+        assertEquals(30000, dagger.getValue());
+        assertEquals(2, dagger.getNotedId().getAsInt());
+        assertFalse(dagger.getUnnotedId().isPresent());
+        assertEquals(0.45, dagger.getWeight());
+        assertEquals(List.of("Wield", "Drop"), dagger.getInventoryActions());
+        assertTrue(pack.decode(4).isStackable());
+    }
+
+    @Test
+    void staleHash() throws Exception {
+        var pack = DefinitionPack.open(packFile, DefinitionPack.HASH_FUNCTION.hashInt(2), ItemDefinition.CODEC);
+        assertFalse(pack.isPresent());
+    }
+
+    @Test
+    void lazyArrayRepository() throws Exception {
+        var pack = DefinitionPack.open(packFile, SOURCE_HASH, ItemDefinition.CODEC).orElseThrow();
+        var repository = new ArrayDefinitionRepository<ItemDefinition>(5);
+        repository.storePackAndLock(pack);
+
+        assertEquals(2, repository.getSize());
+        Definition[] definitions = repository.definitions;
+        assertNull(definitions[4]);
+        assertEquals("Coins", repository.retrieve(4).getName());
+        assertFalse(repository.get(3).isPresent());
+        assertEquals(2, repository.stream().count());
+    }
+
+    @Test
+    void arrayLengthLimit() throws Exception {
+        var out = new DataOutputStream(new ByteArrayOutputStream());
+        DefinitionPack.writeInts(out, new int[255]);
+        assertThrows(IllegalArgumentException.class, () -> DefinitionPack.writeInts(out, new int[256]));
+        assertThrows(IllegalArgumentException.class,
+                () -> DefinitionPack.writeStrings(out, Collections.nCopies(256, "")));
+    }
+}
@@ -0,0 +1,93 @@
+package io.luna.game.model.item;
+
+import io.luna.game.model.item.ItemContainer.StackPolicy;
+
+/**
+ * A benchmark of {@link ItemContainer} operations on a full 352-slot bank. Run it with {@code gradle benchmarkBank},
+ * and compare against an earlier revision by running the same class there.
+ * <p>
+ * Each round measures two workloads. The first deposits and withdraws an existing stack while looking up its amount
+ * and checking if it's contained. The second empties every slot and fills it again, which looks for a free index on
+ * each deposit. The first rounds are warm-up for the JIT compiler.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class BankBenchmark {
+
+    /**
+     * The amount of slots in a bank.
+     */
+    private static final int CAPACITY = 352;
+
+    /**
+     * The amount of rounds to run.
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * The amount of deposit/withdraw operations per round.
+     */
+    private static final int OPERATIONS = 200_000;
+
+    /**
+     * The amount of times the bank is emptied and filled per round.
+     */
+    private static final int REFILLS = 50;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The program arguments, always ignored.
+     */
+    public static void main(String[] args) {
+        long checksum = 0;
+        for (int round = 1; round <= ROUNDS; round++) {
+            ItemContainer bank = new ItemContainer(CAPACITY, StackPolicy.ALWAYS, 5382);
+            for (int slot = 0; slot < CAPACITY; slot++) {
+                bank.add(new Item(idForSlot(slot), 1000));
+            }
+
+            long start = System.nanoTime();
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                int id = idForSlot(operation * 7 % CAPACITY);
+                bank.add(new Item(id, 5));
+                checksum += bank.computeAmountForId(id);
+                checksum += bank.contains(id) ? 1 : 0;
+                bank.remove(new Item(id, 5));
+            }
+            long operationTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int refill = 0; refill < REFILLS; refill++) {
+                for (int slot = 0; slot < CAPACITY; slot++) {
+                    bank.remove(new Item(idForSlot(slot), 1000));
+                }
+                for (int slot = 0; slot < CAPACITY; slot++) {
+                    bank.add(new Item(idForSlot(slot), 1000));
+                }
+            }
+            long refillTime = System.nanoTime() - start;
+
+            System.out.printf("Round %d: deposit/withdraw %.0f ns/op, refill %.0f ns/item%n", round,
+                    operationTime / (double) OPERATIONS, refillTime / (REFILLS * CAPACITY * 2.0));
+        }
+        System.out.printf("Checksum: %d%n", checksum);
+    }
+
+    /**
+     * Computes the item identifier stored in {@code slot}. Identifiers are spread out so they don't line up with the
+     * slots.
+     *
+     * @param slot The slot.
+     * @return The identifier.
+     */
+    private static int idForSlot(int slot) {
+        return 1 + slot * 3;
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private BankBenchmark() {
+    }
+}
@@ -0,0 +1,110 @@
+package io.luna.game.model.item;
+
+import com.sun.management.ThreadMXBean;
+import io.luna.game.model.def.ItemDefinition;
+import io.luna.game.model.item.ItemContainer.StackPolicy;
+import io.luna.util.parser.DefinitionPackLoader;
+import io.luna.util.parser.impl.ItemDefinitionFileParser;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A benchmark of the memory allocated by {@link Item}s during a skilling loop on a 28-slot inventory. Run it with
+ * {@code gradle benchmarkItemAllocation}. Passing {@code --args=constructors} creates items with the public
+ * constructors instead of {@link Item#of(int, int)}. To compare against revisions before the item cache existed, make
+ * {@link #item(int, int)} always use the constructor.
+ * <p>
+ * Each action cuts a log, dropping every log when the inventory is full, then fletches 15 arrow shafts into headless
+ * arrows and back. Allocation is measured with {@link ThreadMXBean#getThreadAllocatedBytes(long)}. The first rounds
+ * are warm-up for the JIT compiler.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ItemAllocationBenchmark {
+
+    /**
+     * The logs identifier.
+     */
+    private static final int LOGS = 1511;
+
+    /**
+     * The arrow shafts identifier.
+     */
+    private static final int ARROW_SHAFTS = 52;
+
+    /**
+     * The headless arrows identifier.
+     */
+    private static final int HEADLESS_ARROWS = 53;
+
+    /**
+     * The amount of rounds to run.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * The amount of actions per round.
+     */
+    private static final int ACTIONS = 1_000_000;
+
+    /**
+     * If items are created with the public constructors.
+     */
+    private static boolean useConstructors;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The program arguments. {@code constructors} creates items with the public constructors.
+     */
+    public static void main(String[] args) {
+        useConstructors = args.length > 0 && args[0].equals("constructors");
+        new DefinitionPackLoader<>(new ItemDefinitionFileParser(), ItemDefinition.ALL, ItemDefinition.CODEC).run();
+
+        var threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long checksum = 0;
+        for (int round = 1; round <= ROUNDS; round++) {
+            ItemContainer inventory = new ItemContainer(28, StackPolicy.STANDARD, 3214);
+            inventory.add(item(ARROW_SHAFTS, 5000));
+            inventory.add(item(HEADLESS_ARROWS, 1));
+
+            long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int action = 0; action < ACTIONS; action++) {
+                if (!inventory.add(item(LOGS, 1))) {
+                    inventory.remove(item(LOGS, 26));
+                    inventory.add(item(LOGS, 1));
+                }
+                inventory.remove(item(ARROW_SHAFTS, 15));
+                inventory.add(item(HEADLESS_ARROWS, 15));
+                inventory.remove(item(HEADLESS_ARROWS, 15));
+                inventory.add(item(ARROW_SHAFTS, 15));
+                checksum += inventory.computeAmountForId(LOGS);
+            }
+            long time = System.nanoTime() - start;
+            long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+            System.out.printf("Round %d (%s): %.0f ns/action, %.1f bytes/action%n", round,
+                    useConstructors ? "constructors" : "Item.of", time / (double) ACTIONS, bytes / (double) ACTIONS);
+        }
+        System.out.printf("Checksum: %d%n", checksum);
+    }
+
+    /**
+     * Creates an item the way selected by the program arguments.
+     *
+     * @param id The identifier.
+     * @param amount The amount.
+     * @return The item.
+     */
+    private static Item item(int id, int amount) {
+        return useConstructors ? new Item(id, amount) : Item.of(id, amount);
+    }
+
+    /**
+     * A private constructor to discourage external instantiation.
+     */
+    private ItemAllocationBenchmark() {
+    }
+}
@@ -0,0 +1,98 @@
+package io.luna.game.model.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link ItemSlotIndex}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class ItemSlotIndexTest {
+
+    static final int CAPACITY = 28;
+
+    ItemSlotIndex index;
+
+    int[] ids;
+
+    @BeforeEach
+    void initIndex() {
+        index = new ItemSlotIndex(CAPACITY);
+        ids = new int[CAPACITY];
+        Arrays.fill(ids, -1);
+    }
+
+    @Test
+    void singleSlot() {
+        put(4, 995);
+
+        assertEquals(4, index.slot(995));
+        assertEquals(1, index.count(995));
+        assertEquals(-1, index.slot(996));
+        assertEquals(0, index.count(996));
+    }
+
+    @Test
+    void multipleSlots() {
+        put(0, 4151);
+        put(5, 4151);
+        put(9, 4151);
+
+        assertEquals(-2, index.slot(4151));
+        assertEquals(3, index.count(4151));
+
+        clear(0);
+        clear(9);
+        assertEquals(5, index.slot(4151));
+
+        clear(5);
+        assertEquals(-1, index.slot(4151));
+        assertEquals(0, index.count(4151));
+    }
+
+    @Test
+    void randomOperations() {
+        var random = new Random(41);
+        for (int step = 0; step < 100_000; step++) {
+            int slot = random.nextInt(CAPACITY);
+            if (ids[slot] != -1) {
+                clear(slot);
+            } else {
+                put(slot, random.nextInt(40) * 64); // Many ids share low bits, forcing collisions.
+            }
+
+            int id = random.nextInt(40) * 64;
+            int count = (int) Arrays.stream(ids).filter(next -> next == id).count();
+            assertEquals(count, index.count(id));
+            if (count == 1) {
+                assertEquals(find(id, -1), index.slot(id));
+            }
+        }
+    }
+
+    void put(int slot, int id) {
+        ids[slot] = id;
+        index.add(id, slot);
+    }
+
+    void clear(int slot) {
+        int id = ids[slot];
+        ids[slot] = -1;
+        index.remove(id, slot, this::find);
+    }
+
+    int find(int id, int excludedSlot) {
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            if (ids[slot] == id && slot != excludedSlot) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+}
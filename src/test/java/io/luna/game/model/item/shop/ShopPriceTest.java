@@ -0,0 +1,87 @@
+package io.luna.game.model.item.shop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the pricing functions of {@link Shop}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class ShopPriceTest {
+
+    static final int[] VALUES = {1, 2, 3, 7, 13, 100, 999, 1000, 12_345};
+
+    static final int[] STOCKED = {0, 1, 2, 9, 10, 11, 19, 20, 21, 44, 45, 100, 333, 1000, 5000};
+
+    static final int[] EXPECTED = {1, 5, 19, 20, 50, 100, 1000};
+
+    static final int GEN_DEFAULT_STOCK = 10;
+
+    @Test
+    void buyValueNeverDecreases() {
+        forEachShop((value, stocked, expected, natural) -> {
+            int previous = 0;
+            for (int amount = 0; amount <= stocked; amount++) {
+                int next = Shop.computeBuyValue(value, stocked, expected, natural, amount);
+                assertTrue(next >= previous);
+                previous = next;
+            }
+        });
+    }
+
+    @Test
+    void affordableAmountMatchesLoop() {
+        var random = new Random(45);
+        forEachShop((value, stocked, expected, natural) -> {
+            int maxValue = Shop.computeBuyValue(value, stocked, expected, natural, stocked);
+            for (int sample = 0; sample < 25; sample++) {
+                int maxAmount = sample == 0 ? stocked : random.nextInt(stocked + 1);
+                int hasValue = sample == 1 ? maxValue - 1 : random.nextInt(maxValue + 2);
+                assertEquals(loop(value, stocked, expected, natural, maxAmount, hasValue),
+                        Shop.computeAffordableAmount(value, stocked, expected, natural, maxAmount, hasValue));
+            }
+
+            // Amounts right at each price boundary.
+            for (int amount = 0; amount <= Math.min(stocked, 50); amount++) {
+                int boundary = Shop.computeBuyValue(value, stocked, expected, natural, amount);
+                for (int hasValue = boundary - 1; hasValue <= boundary + 1; hasValue++) {
+                    assertEquals(loop(value, stocked, expected, natural, stocked, hasValue),
+                            Shop.computeAffordableAmount(value, stocked, expected, natural, stocked, hasValue));
+                }
+            }
+        });
+    }
+
+    /**
+     * The original decrementing search in {@link Shop#buy(io.luna.game.model.mob.Player, int, int)}.
+     */
+    int loop(int value, int stocked, int expected, boolean natural, int buyAmount, int hasValue) {
+        int totalValue = Shop.computeBuyValue(value, stocked, expected, natural, buyAmount);
+        while (buyAmount > 0 && hasValue < totalValue) {
+            buyAmount--;
+            totalValue = Shop.computeBuyValue(value, stocked, expected, natural, buyAmount);
+        }
+        return buyAmount;
+    }
+
+    void forEachShop(ShopConsumer consumer) {
+        for (int value : VALUES) {
+            for (int stocked : STOCKED) {
+                for (int expected : EXPECTED) {
+                    consumer.accept(value, stocked, expected, true);
+                }
+                consumer.accept(value, stocked, GEN_DEFAULT_STOCK, false);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ShopConsumer {
+        void accept(int value, int stocked, int expected, boolean natural);
+    }
+}
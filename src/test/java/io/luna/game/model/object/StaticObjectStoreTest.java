@@ -0,0 +1,133 @@
+package io.luna.game.model.object;
+
+import io.luna.game.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link StaticObjectStore}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class StaticObjectStoreTest {
+
+    private static final ObjectType LAST_TYPE = ObjectType.values()[ObjectType.values().length - 1];
+
+    private static final ObjectDirection LAST_DIRECTION = ObjectDirection.values()[ObjectDirection.values().length - 1];
+
+    private static final StaticObjectStore.ObjectFactory<String> FACTORY = StaticObjectStoreTest::describe;
+
+    StaticObjectStore store;
+
+    @BeforeEach
+    void createStore() {
+        store = new StaticObjectStore();
+    }
+
+    @Test
+    void packLimits() {
+        var position = new Position(3222, 3218, 0);
+        store.add(0xFFFF, position, LAST_TYPE, LAST_DIRECTION);
+        store.add(0, position, ObjectType.values()[0], ObjectDirection.values()[0]);
+
+        assertEquals(Set.of(describe(0xFFFF, position, LAST_TYPE, LAST_DIRECTION),
+                describe(0, position, ObjectType.values()[0], ObjectDirection.values()[0])),
+                Set.copyOf(store.materialize(position, FACTORY)));
+    }
+
+    @Test
+    void invalidId() {
+        var position = new Position(3222, 3218, 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.add(0x10000, position, ObjectType.DEFAULT, ObjectDirection.NORTH));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.add(-1, position, ObjectType.DEFAULT, ObjectDirection.NORTH));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void regionEdgesOnEachPlane() {
+        List<Position> positions = new ArrayList<>();
+        for (int z = 0; z <= 3; z++) {
+            positions.add(new Position(3200, 3200, z));
+            positions.add(new Position(3263, 3263, z));
+            positions.add(new Position(3200, 3263, z));
+            positions.add(new Position(3263, 3200, z));
+            positions.add(new Position(3264, 3264, z)); // The first tile of the next region.
+        }
+        for (int index = 0; index < positions.size(); index++) {
+            store.add(index, positions.get(index), ObjectType.DEFAULT, ObjectDirection.NORTH);
+        }
+
+        for (int index = 0; index < positions.size(); index++) {
+            var position = positions.get(index);
+            assertEquals(List.of(describe(index, position, ObjectType.DEFAULT, ObjectDirection.NORTH)),
+                    store.materialize(position, FACTORY));
+        }
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void materializeOnce() {
+        var position = new Position(3222, 3218, 0);
+        store.add(1, position, ObjectType.DEFAULT, ObjectDirection.NORTH);
+        store.add(2, position, ObjectType.WALKABLE_DEFAULT, ObjectDirection.EAST);
+        store.add(3, new Position(3223, 3218, 0), ObjectType.DEFAULT, ObjectDirection.NORTH);
+
+        assertEquals(2, store.materialize(position, FACTORY).size());
+        assertEquals(List.of(), store.materialize(position, FACTORY));
+        assertEquals(List.of(), store.materialize(new Position(3221, 3218, 0), FACTORY));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void addAfterMaterialize() {
+        var first = new Position(3230, 3230, 0);
+        var second = new Position(3210, 3210, 0);
+        store.add(1, first, ObjectType.DEFAULT, ObjectDirection.NORTH);
+        assertEquals(1, store.materialize(first, FACTORY).size());
+
+        // Added in descending tile order, so the region's entries are unsorted.
+        store.add(2, first, ObjectType.DEFAULT, ObjectDirection.NORTH);
+        store.add(3, second, ObjectType.DEFAULT, ObjectDirection.NORTH);
+        assertEquals(List.of(describe(3, second, ObjectType.DEFAULT, ObjectDirection.NORTH)),
+                store.materialize(second, FACTORY));
+        assertEquals(List.of(describe(2, first, ObjectType.DEFAULT, ObjectDirection.NORTH)),
+                store.materialize(first, FACTORY));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void materializeAll() {
+        Set<String> expected = Set.of(
+                describe(1, new Position(3222, 3218, 0), ObjectType.DEFAULT, ObjectDirection.NORTH),
+                describe(2, new Position(3263, 3263, 3), LAST_TYPE, LAST_DIRECTION),
+                describe(3, new Position(2000, 4000, 1), ObjectType.DEFAULT, ObjectDirection.SOUTH));
+        store.add(1, new Position(3222, 3218, 0), ObjectType.DEFAULT, ObjectDirection.NORTH);
+        store.add(2, new Position(3263, 3263, 3), LAST_TYPE, LAST_DIRECTION);
+        store.add(3, new Position(2000, 4000, 1), ObjectType.DEFAULT, ObjectDirection.SOUTH);
+        store.add(4, new Position(3230, 3230, 0), ObjectType.DEFAULT, ObjectDirection.NORTH);
+        assertEquals(4, store.size());
+
+        assertEquals(1, store.materialize(new Position(3230, 3230, 0), FACTORY).size());
+        assertEquals(3, store.size());
+
+        List<String> all = store.materializeAll(FACTORY);
+        assertEquals(expected, Set.copyOf(all));
+        assertEquals(3, all.size());
+        assertEquals(0, store.size());
+        assertEquals(List.of(), store.materializeAll(FACTORY));
+        assertEquals(List.of(), store.materialize(new Position(3222, 3218, 0), FACTORY));
+    }
+
+    private static String describe(int id, Position position, ObjectType type, ObjectDirection direction) {
+        return id + " " + type + " " + direction + " " + position;
+    }
+}
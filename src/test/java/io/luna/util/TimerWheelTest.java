@@ -0,0 +1,105 @@
+package io.luna.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link TimerWheel}.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class TimerWheelTest {
+
+    @Test
+    void invalidBucketCount() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(100, 0));
+    }
+
+    @Test
+    void firesOnDueTick() {
+        var wheel = new TimerWheel<String>(8, 10);
+        wheel.schedule("a", 12);
+        wheel.schedule("b", 15);
+        wheel.schedule("c", 12);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(11, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advance(12, fired::add);
+        assertEquals(List.of("a", "c"), fired);
+        wheel.advance(20, fired::add);
+        assertEquals(List.of("a", "c", "b"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void longerThanRevolution() {
+        var wheel = new TimerWheel<String>(4, 0);
+        wheel.schedule("a", 2);
+        wheel.schedule("b", 10);
+
+        List<Long> firedTicks = new ArrayList<>();
+        for (long tick = 1; tick <= 12; tick++) {
+            long currentTick = tick;
+            wheel.advance(tick, value -> firedTicks.add(currentTick));
+        }
+        assertEquals(List.of(2L, 10L), firedTicks);
+    }
+
+    @Test
+    void overdueFiresNextTick() {
+        var wheel = new TimerWheel<String>(4, 5);
+        wheel.schedule("a", 1);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(6, fired::add);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void rescheduleFromAction() {
+        var wheel = new TimerWheel<String>(4, 0);
+        wheel.schedule("a", 1);
+
+        List<Long> firedTicks = new ArrayList<>();
+        wheel.advance(1, value -> {
+            firedTicks.add(wheel.getCurrentTick());
+            wheel.schedule(value, 5);
+        });
+        wheel.advance(5, value -> firedTicks.add(wheel.getCurrentTick()));
+        assertEquals(List.of(1L, 5L), firedTicks);
+    }
+
+    @Test
+    void scheduleReturnsDueTick() {
+        var wheel = new TimerWheel<String>(4, 5);
+        assertEquals(6, wheel.schedule("a", 1));
+        assertEquals(9, wheel.schedule("b", 9));
+    }
+
+    @Test
+    void staleTimersAfterReschedule() {
+        var wheel = new TimerWheel<String>(4, 0);
+        Map<String, Long> latestDueTicks = new HashMap<>();
+        latestDueTicks.put("a", wheel.schedule("a", 3));
+        latestDueTicks.put("a", wheel.schedule("a", 6)); // Deadline moved later, the first timer is now stale.
+
+        List<Long> firedTicks = new ArrayList<>();
+        for (long tick = 1; tick <= 8; tick++) {
+            wheel.advance(tick, value -> {
+                if (latestDueTicks.get(value) == wheel.getCurrentTick()) {
+                    firedTicks.add(wheel.getCurrentTick());
+                }
+            });
+        }
+        assertEquals(List.of(6L), firedTicks);
+        assertEquals(0, wheel.size());
+    }
+}